@@ -1,6 +1,7 @@
 import core.ATM;
 import models.*;
 import services.BankServiceProxy;
+import services.RoutingBankService;
 import strategies.*;
 import enums.TransactionType;
 import java.util.*;
@@ -21,8 +22,15 @@ public class ATMDemo {
         
         ATM atm = new ATM("ATM001", "Main Street Branch", initialCash);
         
-        // Set up bank service (Proxy pattern)
-        BankServiceProxy bankService = new BankServiceProxy("HDFC Bank");
+        // Set up bank service: one proxy per issuer (Proxy pattern), chosen by the card's BIN
+        RoutingBankService bankService = new RoutingBankService();
+        bankService.addIssuer("HDFC001", new BankServiceProxy("HDFC Bank"), 100);
+        bankService.addIssuer("ICICI001", new BankServiceProxy("ICICI Bank"), 100);
+        
+        Map<String, String> binTable = new HashMap<>();
+        binTable.put("123456", "HDFC001");
+        binTable.put("4000", "ICICI001");
+        bankService.reloadBinTable(binTable);
         atm.setBankService(bankService);
         
         System.out.println("\n=== Demo Scenario 1: Successful Cash Withdrawal ===");
@@ -0,0 +1,112 @@
+import core.ATMFleet;
+import models.*;
+import services.FaultInjectingBankService;
+import enums.TransactionType;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Checks that fleet commands which span several ATM calls settle instead of stalling a mailbox.
+// Exits with status 1 if a check fails or a command does not finish in time.
+// Usage: java ATMFleetCheck
+public class ATMFleetCheck {
+    private static final long TIMEOUT_SECONDS = 10;
+    
+    public static void main(String[] args) throws Exception {
+        Map<Integer, Integer> cashPerAtm = new HashMap<>();
+        cashPerAtm.put(100, 50);
+        cashPerAtm.put(20, 40);
+        
+        FaultInjectingBankService bank = new FaultInjectingBankService();
+        bank.setLatency(20, 10);
+        
+        // Per-ATM console output would hide the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        
+        // More broken sessions than mailbox workers, so a stuck mailbox would pin every worker
+        int brokenSessions = Runtime.getRuntime().availableProcessors() + 1;
+        ATMFleet fleet = new ATMFleet(bank, brokenSessions + 1, cashPerAtm);
+        List<String> failures = new ArrayList<>();
+        
+        // Two ATM calls in one command: the second one must fail fast rather than wait forever
+        for (int i = 0; i < brokenSessions; i++) {
+            int atmIndex = i;
+            Throwable error = run(() -> insertCard(fleet, atmIndex));
+            if (error != null) {
+                failures.add("Card insertion on ATM " + atmIndex + " ended with " + error);
+                continue;
+            }
+            error = run(() -> fleet.send(atmIndex, atm -> {
+                atm.authenticatePIN("1234");
+                atm.selectOperation(TransactionType.BALANCE_INQUIRY);
+            }));
+            if (!(error instanceof IllegalStateException)) {
+                failures.add("Two calls in one command on ATM " + atmIndex + " ended with " + error);
+            }
+        }
+        
+        // The same calls sent as steps run one after another, on an ATM that shares the workers
+        int atmIndex = brokenSessions;
+        long requestsBefore = bank.getRequestCount();
+        Throwable error = run(() -> {
+            insertCard(fleet, atmIndex);
+            fleet.send(atmIndex, 
+                atm -> atm.authenticatePIN("1234"), 
+                atm -> atm.selectOperation(TransactionType.BALANCE_INQUIRY), 
+                atm -> atm.cancel());
+        });
+        if (error != null) {
+            failures.add("Steps failed: " + error);
+        } else if (bank.getRequestCount() - requestsBefore != 2) {
+            failures.add("Steps sent " + (bank.getRequestCount() - requestsBefore) + 
+                " bank requests, expected PIN check and balance");
+        }
+        
+        fleet.shutdown();
+        bank.shutdown();
+        System.setOut(console);
+        
+        System.out.println("=== ATM Fleet Check: " + brokenSessions + " single-command sessions, 1 stepped session ===");
+        if (failures.isEmpty()) {
+            System.out.println("All checks passed");
+            System.exit(0);
+        }
+        failures.forEach(failure -> System.out.println("  " + failure));
+        System.exit(1);
+    }
+    
+    private static void insertCard(ATMFleet fleet, int atmIndex) {
+        Bank bank = new Bank("HDFC001", "HDFC Bank");
+        Date expiryDate = new Date(System.currentTimeMillis() + 365L * 24 * 60 * 60 * 1000);
+        CardDetails card = new CardDetails(String.format("4000%012d", atmIndex), expiryDate, bank);
+        fleet.send(atmIndex, atm -> {
+            atm.getCardReader().insertCard(card);
+            atm.insertCard(card);
+        });
+    }
+    
+    // The error the action ended with, null if it succeeded, or a TimeoutException if it never finished
+    private static Throwable run(Runnable action) throws InterruptedException {
+        Throwable[] error = new Throwable[1];
+        Thread runner = new Thread(() -> {
+            try {
+                action.run();
+            } catch (CompletionException e) {
+                error[0] = e.getCause() != null ? e.getCause() : e;
+            } catch (RuntimeException e) {
+                error[0] = e;
+            }
+        }, "fleet-check");
+        runner.setDaemon(true); // A stuck command must not keep the check from exiting
+        runner.start();
+        runner.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        if (runner.isAlive()) {
+            return new TimeoutException("Command did not finish within " + TIMEOUT_SECONDS + "s");
+        }
+        return error[0];
+    }
+}
\ No newline at end of file
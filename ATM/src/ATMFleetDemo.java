@@ -0,0 +1,101 @@
+import core.ATMFleet;
+import core.VirtualThreads;
+import models.*;
+import services.BankServiceProxy;
+import enums.TransactionType;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs many ATMs in one process against one bank, one customer session per thread
+// Usage: java ATMFleetDemo [atms] [sessionsPerAtm]
+public class ATMFleetDemo {
+    
+    public static void main(String[] args) throws InterruptedException {
+        int atmCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int sessionsPerAtm = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        
+        Map<Integer, Integer> cashPerAtm = new HashMap<>();
+        cashPerAtm.put(500, 20);
+        cashPerAtm.put(100, 50);
+        cashPerAtm.put(20, 40);
+        
+        // Per-ATM console output would dominate the run, so only the report is printed
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        
+        ATMFleet fleet = new ATMFleet(new BankServiceProxy("HDFC Bank"), atmCount, cashPerAtm);
+        long[] latenciesNanos = new long[atmCount * sessionsPerAtm];
+        AtomicInteger failedSessions = new AtomicInteger();
+        
+        long start = System.nanoTime();
+        ExecutorService sessions = VirtualThreads.newThreadPerTaskExecutor("atm-session");
+        for (int i = 0; i < atmCount; i++) {
+            int atmIndex = i;
+            sessions.execute(() -> {
+                // Sessions on one ATM run back to back, like a queue of customers
+                for (int s = 0; s < sessionsPerAtm; s++) {
+                    long sessionStart = System.nanoTime();
+                    try {
+                        runSession(fleet, atmIndex);
+                    } catch (RuntimeException e) {
+                        failedSessions.incrementAndGet();
+                    }
+                    latenciesNanos[atmIndex * sessionsPerAtm + s] = System.nanoTime() - sessionStart;
+                }
+            });
+        }
+        sessions.shutdown();
+        sessions.awaitTermination(1, TimeUnit.HOURS);
+        long elapsedNanos = System.nanoTime() - start;
+        fleet.shutdown();
+        
+        System.setOut(console);
+        Arrays.sort(latenciesNanos);
+        System.out.println("=== ATM Fleet: " + atmCount + " ATMs, " + latenciesNanos.length + " sessions ===");
+        System.out.println("Session threads: " + (VirtualThreads.isAvailable() ? "virtual" : "platform (no virtual threads on this JVM)"));
+        System.out.printf("Elapsed: %.1f s, %.0f sessions/sec, %d failed%n", 
+            elapsedNanos / 1e9, latenciesNanos.length / (elapsedNanos / 1e9), failedSessions.get());
+        System.out.printf("Session latency ms: p50=%.0f p90=%.0f p99=%.0f max=%.0f%n", 
+            percentile(latenciesNanos, 0.50), percentile(latenciesNanos, 0.90), 
+            percentile(latenciesNanos, 0.99), latenciesNanos[latenciesNanos.length - 1] / 1e6);
+    }
+    
+    // Insert card, enter PIN, do one operation, take the card back
+    private static void runSession(ATMFleet fleet, int atmIndex) {
+        Bank bank = new Bank("HDFC001", "HDFC Bank");
+        Date expiryDate = new Date(System.currentTimeMillis() + 365L * 24 * 60 * 60 * 1000);
+        CardDetails card = new CardDetails(String.format("4000%012d", atmIndex), expiryDate, bank);
+        
+        fleet.send(atmIndex, atm -> {
+            atm.getCardReader().insertCard(card);
+            atm.insertCard(card);
+        });
+        fleet.send(atmIndex, atm -> atm.authenticatePIN("1234"));
+        
+        switch (ThreadLocalRandom.current().nextInt(3)) {
+            case 0:
+                fleet.send(atmIndex, atm -> atm.selectOperation(TransactionType.CASH_WITHDRAWAL));
+                Map<String, Object> withdrawal = new HashMap<>();
+                withdrawal.put("amount", 100.0);
+                fleet.send(atmIndex, atm -> atm.performTransaction(withdrawal));
+                break;
+            case 1:
+                fleet.send(atmIndex, atm -> atm.selectOperation(TransactionType.BALANCE_INQUIRY));
+                break;
+            default:
+                fleet.send(atmIndex, atm -> atm.selectOperation(TransactionType.MINI_STATEMENT));
+                break;
+        }
+        fleet.send(atmIndex, atm -> atm.cancel());
+    }
+    
+    private static double percentile(long[] sortedNanos, double fraction) {
+        int index = (int) Math.ceil(fraction * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
\ No newline at end of file
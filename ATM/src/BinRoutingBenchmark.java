@@ -0,0 +1,100 @@
+import services.BankServiceProxy;
+import services.RoutingBankService;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+
+// Measures BIN routing cost per card while the BIN table is reloaded in the background
+// Usage: java BinRoutingBenchmark [bins] [issuers] [lookups]
+public class BinRoutingBenchmark {
+    
+    public static void main(String[] args) throws InterruptedException {
+        int binCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int issuerCount = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 20_000_000;
+        Random random = new Random(42);
+        
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        
+        RoutingBankService router = new RoutingBankService();
+        for (int i = 0; i < issuerCount; i++) {
+            router.addIssuer("BANK" + i, new BankServiceProxy("Bank " + i), 100);
+        }
+        Map<String, String> binTable = randomBinTable(binCount, issuerCount, random);
+        router.reloadBinTable(binTable);
+        
+        // Card numbers start with a known BIN most of the time, like real traffic
+        List<String> bins = new ArrayList<>(binTable.keySet());
+        String[] cards = new String[1 << 16];
+        for (int i = 0; i < cards.length; i++) {
+            StringBuilder card = new StringBuilder(random.nextInt(10) < 9 ? bins.get(random.nextInt(bins.size())) : "");
+            while (card.length() < 16) {
+                card.append((char) ('0' + random.nextInt(10)));
+            }
+            cards[i] = card.toString();
+        }
+        
+        // Hot reloads keep swapping the table while lookups run, each moving some BINs to other issuers
+        Thread reloader = new Thread(() -> {
+            Random reloadRandom = new Random(7);
+            while (!Thread.currentThread().isInterrupted()) {
+                Map<String, String> updated = new HashMap<>(binTable);
+                for (int i = 0; i < 100; i++) {
+                    updated.put(bins.get(reloadRandom.nextInt(bins.size())), "BANK" + reloadRandom.nextInt(issuerCount));
+                }
+                router.reloadBinTable(updated);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "bin-reloader");
+        reloader.setDaemon(true);
+        
+        routeAll(router, cards, lookups); // Warm up
+        long steadyNanos = timeLookups(router, cards, lookups);
+        reloader.start();
+        long reloadingNanos = timeLookups(router, cards, lookups);
+        reloader.interrupt();
+        reloader.join();
+        
+        System.setOut(console);
+        System.out.println("=== BIN Routing: " + binCount + " BINs across " + issuerCount + " issuers, " + 
+            lookups + " lookups ===");
+        System.out.printf("Steady table:        %.1f ns per lookup%n", (double) steadyNanos / lookups);
+        System.out.printf("Reloading every 50ms: %.1f ns per lookup (reloads share the CPU)%n", 
+            (double) reloadingNanos / lookups);
+    }
+    
+    private static long timeLookups(RoutingBankService router, String[] cards, int lookups) {
+        long start = System.nanoTime();
+        routeAll(router, cards, lookups);
+        return System.nanoTime() - start;
+    }
+    
+    private static long routeAll(RoutingBankService router, String[] cards, int lookups) {
+        long routed = 0;
+        for (int i = 0; i < lookups; i++) {
+            if (router.resolveIssuer(cards[i & (cards.length - 1)]) != null) {
+                routed++;
+            }
+        }
+        return routed;
+    }
+    
+    private static Map<String, String> randomBinTable(int binCount, int issuerCount, Random random) {
+        Map<String, String> binTable = new HashMap<>();
+        while (binTable.size() < binCount) {
+            int length = 6 + random.nextInt(3); // 6 to 8 digit BINs
+            StringBuilder bin = new StringBuilder();
+            bin.append((char) ('1' + random.nextInt(9)));
+            while (bin.length() < length) {
+                bin.append((char) ('0' + random.nextInt(10)));
+            }
+            binTable.put(bin.toString(), "BANK" + random.nextInt(issuerCount));
+        }
+        return binTable;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+import models.*;
+import services.CircuitBreaker;
+import services.FaultInjectingBankService;
+import services.ResilientBankService;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Puts the resilience layer in front of a misbehaving stand-in bank and shows how calls fare
+// as the bank goes from healthy to slow, to failing, to down, and back
+public class ResilienceDemo {
+    private static final int REQUESTS_PER_PHASE = 400;
+    private static final int REQUESTS_PER_SEC = 200;
+    
+    public static void main(String[] args) {
+        FaultInjectingBankService bank = new FaultInjectingBankService();
+        CircuitBreaker breaker = new CircuitBreaker(50, 20, 0.5, 1000, 3);
+        ResilientBankService resilient = new ResilientBankService(bank, breaker);
+        resilient.setDeadline(ResilientBankService.Operation.BALANCE_INQUIRY, 500);
+        Account account = new Account("123456789", new Bank("HDFC001", "HDFC Bank"));
+        
+        System.out.println("=== Resilience Demo: " + REQUESTS_PER_PHASE + " balance reads per phase ===");
+        System.out.printf("%-26s %8s %8s %8s %8s %9s %8s %10s%n", 
+            "phase", "ok", "failed", "p50 ms", "p99 ms", "hedge ms", "hedges", "breaker");
+        
+        bank.setLatency(20, 10);
+        runPhase("healthy", resilient, breaker, account);
+        
+        bank.setSlowTail(0.03, 400);
+        runPhase("3% slow (400 ms)", resilient, breaker, account);
+        
+        bank.setSlowTail(0, 0);
+        bank.setFailureRate(0.7);
+        runPhase("70% errors", resilient, breaker, account);
+        
+        bank.setFailureRate(0);
+        bank.setUnresponsive(true);
+        runPhase("unresponsive", resilient, breaker, account);
+        
+        bank.setUnresponsive(false);
+        sleep(1100); // Let the breaker's cool-down pass
+        runPhase("recovered", resilient, breaker, account);
+        
+        System.out.println("Requests reaching the bank: " + bank.getRequestCount() + 
+            ", timeouts: " + resilient.getTimeoutCount() + ", rejected by breaker: " + breaker.getRejectedCount() + 
+            ", hedges won: " + resilient.getHedgeWinCount() + "/" + resilient.getHedgeCount());
+        resilient.shutdown();
+        bank.shutdown();
+    }
+    
+    private static void runPhase(String name, ResilientBankService resilient, CircuitBreaker breaker, Account account) {
+        long hedgesBefore = resilient.getHedgeCount();
+        long[] latenciesNanos = new long[REQUESTS_PER_PHASE];
+        boolean[] failed = new boolean[REQUESTS_PER_PHASE];
+        List<CompletableFuture<Double>> calls = new ArrayList<>();
+        
+        for (int i = 0; i < REQUESTS_PER_PHASE; i++) {
+            long start = System.nanoTime();
+            int index = i;
+            calls.add(resilient.getAccountBalanceAsync(account).whenComplete((balance, error) -> {
+                latenciesNanos[index] = System.nanoTime() - start;
+                failed[index] = error != null;
+            }));
+            sleep(1000 / REQUESTS_PER_SEC);
+        }
+        for (CompletableFuture<Double> call : calls) {
+            call.handle((balance, error) -> null).join();
+        }
+        
+        int failures = 0;
+        for (boolean f : failed) {
+            failures += f ? 1 : 0;
+        }
+        Arrays.sort(latenciesNanos);
+        System.out.printf("%-26s %8d %8d %8.1f %8.1f %9d %8d %10s%n", name, 
+            REQUESTS_PER_PHASE - failures, failures, 
+            latenciesNanos[REQUESTS_PER_PHASE / 2] / 1e6, latenciesNanos[REQUESTS_PER_PHASE * 99 / 100 - 1] / 1e6, 
+            resilient.getHedgeDelayMs(ResilientBankService.Operation.BALANCE_INQUIRY), 
+            resilient.getHedgeCount() - hedgesBefore, breaker.getState());
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
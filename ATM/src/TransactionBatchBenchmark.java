@@ -0,0 +1,94 @@
+import interfaces.AsyncBankService;
+import models.*;
+import services.BatchingBankService;
+import services.FaultInjectingBankService;
+import enums.TransactionStatus;
+import enums.TransactionType;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Compares sending each transaction on its own with batching windows of several sizes, against a bank
+// host that has a few connections and a fixed cost per round trip.
+// Usage: java TransactionBatchBenchmark [transactionsPerSec] [seconds] [connections] [roundTripMs]
+public class TransactionBatchBenchmark {
+    private static final long[] WINDOWS_MS = {0, 1, 5, 20, 50};
+    private static final int MAX_BATCH_SIZE = 200;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int ratePerSec = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int roundTripMs = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        
+        System.out.println("=== Transaction Batching: " + ratePerSec + " tx/sec for " + seconds + " s, " + 
+            connections + " bank connections, " + roundTripMs + " ms round trip ===");
+        System.out.printf("%-10s %10s %10s %9s %9s %9s %9s%n", 
+            "window", "tx/sec", "requests", "avg size", "p50 ms", "p99 ms", "max ms");
+        
+        for (long windowMs : WINDOWS_MS) {
+            // A host with a few connections, each held for a full round trip per request
+            FaultInjectingBankService bank = new FaultInjectingBankService();
+            bank.setLatency(roundTripMs, 0);
+            bank.setConnectionLimit(connections);
+            BatchingBankService batcher = windowMs > 0 ? new BatchingBankService(bank, windowMs, MAX_BATCH_SIZE) : null;
+            AsyncBankService target = batcher != null ? batcher : bank;
+            
+            long[] latenciesNanos = run(target, ratePerSec, seconds);
+            long elapsedNanos = latenciesNanos[latenciesNanos.length - 1];
+            long[] sorted = Arrays.copyOf(latenciesNanos, latenciesNanos.length - 1);
+            Arrays.sort(sorted);
+            
+            System.out.printf("%-10s %10.0f %10d %9.1f %9.1f %9.1f %9.1f%n", 
+                windowMs == 0 ? "unbatched" : windowMs + " ms", 
+                sorted.length / (elapsedNanos / 1e9), bank.getRequestCount(), 
+                (double) sorted.length / bank.getRequestCount(), 
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+            
+            if (batcher != null) {
+                batcher.close();
+            }
+            bank.shutdown();
+        }
+    }
+    
+    // Offers transactions at a steady rate; the last slot holds the time until the final one settled
+    private static long[] run(AsyncBankService target, int ratePerSec, int seconds) {
+        Account account = new Account("123456789", new Bank("HDFC001", "HDFC Bank"));
+        int total = ratePerSec * seconds;
+        long[] latenciesNanos = new long[total + 1];
+        List<CompletableFuture<TransactionStatus>> results = new ArrayList<>(total);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long due = start + i * 1_000_000_000L / ratePerSec;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                sleepNanos(wait);
+            }
+            
+            Transaction transaction = new Transaction("TXN" + i, account, TransactionType.CASH_WITHDRAWAL, 
+                100.0, TransactionStatus.PENDING, new Date());
+            long submitted = System.nanoTime();
+            int index = i;
+            results.add(target.executeTransactionAsync(transaction)
+                .whenComplete((status, error) -> latenciesNanos[index] = System.nanoTime() - submitted));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+        latenciesNanos[total] = System.nanoTime() - start;
+        return latenciesNanos;
+    }
+    
+    private static double percentile(long[] sortedNanos, double fraction) {
+        int index = (int) Math.ceil(fraction * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+    
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -1,11 +1,17 @@
 package core;
 
 import interfaces.ATMState;
+import interfaces.AsyncBankService;
 import interfaces.BankService;
 import hardware.*;
 import models.CardDetails;
 import enums.TransactionType;
+import services.SynchronousBankServiceAdapter;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 // Main ATM class - Facade and State pattern context
 public class ATM {
@@ -26,6 +32,13 @@ public class ATM {
     
     // Service components
     private BankService bankService;
+    private AsyncBankService asyncBankService;
+    
+    // Bank reply or screen pause the current state is waiting on; new input waits for it
+    private volatile CompletableFuture<?> pendingWork = CompletableFuture.completedFuture(null);
+    
+    // Where bank replies and pauses are handled; a fleet routes them through the ATM's mailbox
+    private volatile Executor callbackExecutor = Runnable::run;
     
     // Constructor
     public ATM(String atmId, String location, Map<Integer, Integer> initialCashInventory) {
@@ -58,29 +71,91 @@ public class ATM {
     
     // Public methods that delegate to current state
     public void insertCard(CardDetails cardDetails) {
+        waitUntilReady();
         currentState.insertCard(this, cardDetails);
     }
     
     public void authenticatePIN(String pin) {
+        waitUntilReady();
         currentState.authenticatePIN(this, pin);
     }
     
     public void selectOperation(TransactionType type) {
+        waitUntilReady();
         currentState.selectOperation(this, type);
     }
     
     public void performTransaction(Map<String, Object> transactionDetails) {
+        waitUntilReady();
         currentState.performTransaction(this, transactionDetails);
     }
     
     public void cancel() {
+        waitUntilReady();
         currentState.cancelTransaction(this);
     }
     
     public void ejectCard() {
+        waitUntilReady();
         currentState.ejectCard(this);
     }
     
+    // Lets a state return while the bank works; the handler runs on the thread that completes the call
+    public <T> void awaitBank(CompletableFuture<T> bankCall, BiConsumer<T, Throwable> handler) {
+        // Published before the handler can run, so work the handler starts replaces it rather than the reverse
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        pendingWork = handled;
+        bankCall.whenCompleteAsync((result, error) -> {
+            try {
+                handler.accept(result, error);
+            } catch (RuntimeException e) {
+                System.out.println("ATM " + atmId + ": Error handling bank response: " + e.getMessage());
+            } finally {
+                handled.complete(null);
+            }
+        }, callbackExecutor);
+    }
+    
+    // Runs the action after the customer has had time to read the screen, without holding a thread
+    public void pauseThen(long delayMs, Runnable action) {
+        CompletableFuture<Void> paused = new CompletableFuture<>();
+        pendingWork = paused;
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, callbackExecutor).execute(() -> {
+            try {
+                action.run();
+            } finally {
+                paused.complete(null);
+            }
+        });
+    }
+    
+    // Completes once pending bank replies and pauses, including ones they started, have finished
+    public CompletableFuture<Void> whenReady() {
+        CompletableFuture<?> current = pendingWork;
+        return current.handle((result, error) -> null)
+            .thenCompose(ignored -> pendingWork == current ? 
+                CompletableFuture.<Void>completedFuture(null) : whenReady());
+    }
+    
+    public boolean isReady() {
+        return pendingWork.isDone();
+    }
+    
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+    
+    private void waitUntilReady() {
+        if (!pendingWork.isDone()) {
+            // The pending reply is queued behind the task running on this thread; waiting would never end
+            if (ATMMailbox.isDrainingThread()) {
+                throw new IllegalStateException("ATM " + atmId + 
+                    " is still waiting on the bank; send each ATM call as its own mailbox step");
+            }
+            whenReady().join();
+        }
+    }
+    
     // Getter methods for hardware components
     public CardReader getCardReader() {
         return cardReader;
@@ -112,6 +187,12 @@ public class ATM {
     
     public void setBankService(BankService bankService) {
         this.bankService = bankService;
+        this.asyncBankService = bankService instanceof AsyncBankService ? 
+            (AsyncBankService) bankService : new SynchronousBankServiceAdapter(bankService);
+    }
+    
+    public AsyncBankService getAsyncBankService() {
+        return asyncBankService;
     }
     
     public String getAtmId() {
@@ -0,0 +1,60 @@
+package core;
+
+import interfaces.BankService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Hosts many ATMs in one process against one shared bank service. Each ATM gets a mailbox;
+// all mailboxes share a small worker pool because ATM work never blocks on the bank.
+public class ATMFleet {
+    private final List<ATMMailbox> mailboxes;
+    private final ExecutorService workers;
+    
+    public ATMFleet(BankService bankService, int atmCount, Map<Integer, Integer> cashPerAtm) {
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "atm-mailbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mailboxes = new ArrayList<>(atmCount);
+        for (int i = 0; i < atmCount; i++) {
+            ATM atm = new ATM(String.format("ATM%05d", i + 1), "Fleet slot " + (i + 1), cashPerAtm);
+            atm.setBankService(bankService);
+            mailboxes.add(new ATMMailbox(atm, workers));
+        }
+    }
+    
+    public int size() {
+        return mailboxes.size();
+    }
+    
+    public ATMMailbox getMailbox(int index) {
+        return mailboxes.get(index);
+    }
+    
+    // Runs a command on one ATM and waits until it has settled; cheap to block on from a virtual thread
+    public void send(int index, Consumer<ATM> command) {
+        mailboxes.get(index).submit(command).join();
+    }
+    
+    // Runs each step as its own command once the previous one has settled, e.g. entering the PIN and then
+    // choosing an operation; a step that fails stops the rest
+    @SafeVarargs
+    public final void send(int index, Consumer<ATM>... steps) {
+        ATMMailbox mailbox = mailboxes.get(index);
+        CompletableFuture<Void> settled = CompletableFuture.completedFuture(null);
+        for (Consumer<ATM> step : steps) {
+            settled = settled.thenCompose(ignored -> mailbox.submit(step));
+        }
+        settled.join();
+    }
+    
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
\ No newline at end of file
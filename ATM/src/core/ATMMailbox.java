@@ -0,0 +1,92 @@
+package core;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Serializes everything that touches one ATM: customer commands from its session, plus bank replies
+// and screen pauses. At most one task runs at a time on the shared worker pool. Bank replies
+// go first, and a command waits until the ATM has finished handling the previous one.
+// Nothing running here may wait for a bank reply: the reply could only be delivered by this same
+// mailbox, so a command that needs several ATM calls must be sent as separate steps.
+public class ATMMailbox {
+    private static final ThreadLocal<Boolean> DRAINING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    
+    private final ATM atm;
+    private final Executor workers;
+    private final Queue<Runnable> callbacks;
+    private final Queue<Runnable> commands;
+    private final AtomicBoolean scheduled;
+    
+    public ATMMailbox(ATM atm, Executor workers) {
+        this.atm = atm;
+        this.workers = workers;
+        this.callbacks = new ConcurrentLinkedQueue<>();
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean();
+        atm.setCallbackExecutor(this::postCallback);
+    }
+    
+    // Completes once the command has run and the ATM has handled any bank call it started
+    public CompletableFuture<Void> submit(Consumer<ATM> command) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        commands.add(() -> {
+            try {
+                command.accept(atm);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            atm.whenReady().whenComplete((result, error) -> done.complete(null));
+        });
+        schedule();
+        return done;
+    }
+    
+    public ATM getAtm() {
+        return atm;
+    }
+    
+    // True while the calling thread is running a mailbox task
+    static boolean isDrainingThread() {
+        return DRAINING.get();
+    }
+    
+    private void postCallback(Runnable callback) {
+        callbacks.add(callback);
+        schedule();
+    }
+    
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+    
+    private void drain() {
+        DRAINING.set(Boolean.TRUE);
+        try {
+            while (true) {
+                Runnable task = callbacks.poll();
+                if (task == null && atm.isReady()) {
+                    task = commands.poll();
+                }
+                if (task == null) {
+                    break; // Waiting commands are picked up when the pending reply is posted
+                }
+                task.run();
+            }
+        } finally {
+            DRAINING.set(Boolean.FALSE);
+            scheduled.set(false);
+        }
+        
+        // Something may have been posted between the last poll and clearing the flag
+        if (!callbacks.isEmpty() || (!commands.isEmpty() && atm.isReady())) {
+            schedule();
+        }
+    }
+}
\ No newline at end of file
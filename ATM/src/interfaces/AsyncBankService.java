@@ -0,0 +1,57 @@
+package interfaces;
+
+import enums.TransactionStatus;
+import models.Account;
+import models.CardDetails;
+import models.Transaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking variant of BankService: each call returns at once and completes when the bank answers
+public interface AsyncBankService {
+    
+    /**
+     * Authenticate the card and PIN
+     */
+    CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin);
+    
+    /**
+     * Get the current account balance
+     */
+    CompletableFuture<Double> getAccountBalanceAsync(Account account);
+    
+    /**
+     * Execute a transaction
+     */
+    CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction);
+    
+    /**
+     * Execute several transactions in one request to the bank host.
+     * Statuses are returned in the same order as the transactions.
+     * By default each transaction is sent on its own.
+     */
+    default CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        List<CompletableFuture<TransactionStatus>> calls = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            calls.add(executeTransactionAsync(transaction));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<TransactionStatus> statuses = new ArrayList<>(calls.size());
+            for (CompletableFuture<TransactionStatus> call : calls) {
+                statuses.add(call.join());
+            }
+            return statuses;
+        });
+    }
+    
+    /**
+     * Get mini statement for the account
+     */
+    CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account);
+    
+    /**
+     * Change PIN for the card
+     */
+    CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin);
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import enums.TransactionStatus;
 import models.Account;
 import models.CardDetails;
 import models.Transaction;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface BankService {
@@ -23,6 +24,19 @@ public interface BankService {
      */
     TransactionStatus executeTransaction(Transaction transaction);
     
+    /**
+     * Execute several transactions in one request to the bank host.
+     * Statuses are returned in the same order as the transactions.
+     * By default each transaction is sent on its own.
+     */
+    default List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        List<TransactionStatus> statuses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            statuses.add(executeTransaction(transaction));
+        }
+        return statuses;
+    }
+    
     /**
      * Get mini statement for the account
      */
@@ -0,0 +1,128 @@
+package services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Balances keyed by account number, dropped after a time-to-live or when the least recently used
+// account has to make room. Shared by every ATM using the proxy, so all map access is synchronized.
+public class BalanceCache {
+    private final long ttlMs;
+    private final int maxAccounts;
+    private final LinkedHashMap<String, Entry> entries;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    
+    // Orders invalidations against loads, so a balance fetched before a transaction is not cached after it
+    private long invalidationSequence;
+    private long evictedInvalidationSequence;
+    
+    public BalanceCache(long ttlMs, int maxAccounts) {
+        this.ttlMs = ttlMs;
+        this.maxAccounts = maxAccounts;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // Access order, eldest is least recently used
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+    
+    // Returns the cached balance, or null when it is missing, invalidated or expired
+    public Double get(String accountNumber) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(accountNumber);
+            if (entry != null && entry.hasBalance && now - entry.loadedAt < ttlMs) {
+                hits.increment();
+                return entry.balance;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+    
+    // Taken before asking the bank and handed back to put()
+    public long beginLoad() {
+        synchronized (entries) {
+            return invalidationSequence;
+        }
+    }
+    
+    // Stores a balance unless the account transacted after the load began
+    public void put(String accountNumber, double balance, long loadToken) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(accountNumber);
+            long invalidatedAt = entry != null ? entry.invalidatedAt : evictedInvalidationSequence;
+            if (invalidatedAt > loadToken) {
+                return;
+            }
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(accountNumber, entry);
+                evictOverflow();
+            }
+            entry.balance = balance;
+            entry.loadedAt = now;
+            entry.hasBalance = true;
+        }
+    }
+    
+    // Called when the account transacts; other accounts keep their cached balances
+    public void invalidate(String accountNumber) {
+        synchronized (entries) {
+            invalidationSequence++;
+            Entry entry = entries.get(accountNumber);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(accountNumber, entry);
+                evictOverflow();
+            }
+            entry.hasBalance = false;
+            entry.invalidatedAt = invalidationSequence;
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+    
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxAccounts && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            // Loads still in flight for an evicted account must respect its last invalidation
+            evictedInvalidationSequence = Math.max(evictedInvalidationSequence, evicted.invalidatedAt);
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+    
+    private static class Entry {
+        private double balance;
+        private long loadedAt;
+        private boolean hasBalance;
+        private long invalidatedAt;
+    }
+}
\ No newline at end of file
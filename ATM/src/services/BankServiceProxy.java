@@ -1,25 +1,41 @@
 package services;
 
+import interfaces.AsyncBankService;
 import interfaces.BankService;
 import models.*;
 import enums.TransactionStatus;
 import java.util.List;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 // Proxy with logging, caching, and security
-public class BankServiceProxy implements BankService {
-    private RealBankService realBankService;
-    private SimpleDateFormat dateFormat;
+public class BankServiceProxy implements BankService, AsyncBankService {
+    private BankService realBankService;
+    private AsyncBankService asyncRealBankService;
+    private DateTimeFormatter dateFormat; // Thread-safe; async responses are logged from bank threads
     
-    // Cache for balance (simple caching implementation)
-    private double cachedBalance = -1;
-    private long lastBalanceCheck = 0;
+    // Balance cache, per account and shared by every ATM using this proxy
+    private BalanceCache balanceCache;
     private static final long CACHE_VALIDITY_MS = 60000; // 1 minute cache
+    private static final int MAX_CACHED_ACCOUNTS = 10000;
+    
+    // Concurrent reads of the same account share one bank call
+    private SingleFlight<String, Double> balanceFlights;
+    private SingleFlight<String, List<Transaction>> statementFlights;
     
     public BankServiceProxy(String bankName) {
-        this.realBankService = new RealBankService(bankName);
-        this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        this(new RealBankService(bankName));
+    }
+    
+    // Fronts any bank connection, e.g. one wrapped in ResilientBankService
+    public <S extends BankService & AsyncBankService> BankServiceProxy(S bank) {
+        this.realBankService = bank;
+        this.asyncRealBankService = bank;
+        this.balanceCache = new BalanceCache(CACHE_VALIDITY_MS, MAX_CACHED_ACCOUNTS);
+        this.balanceFlights = new SingleFlight<>();
+        this.statementFlights = new SingleFlight<>();
+        this.dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         System.out.println("BankServiceProxy initialized");
     }
     
@@ -51,8 +67,8 @@ public class BankServiceProxy implements BankService {
         logRequest("BALANCE_INQUIRY", "Account: " + maskAccountNumber(account.getAccountNumber()));
         
         // Check cache first
-        long currentTime = System.currentTimeMillis();
-        if (cachedBalance >= 0 && (currentTime - lastBalanceCheck) < CACHE_VALIDITY_MS) {
+        Double cachedBalance = balanceCache.get(account.getAccountNumber());
+        if (cachedBalance != null) {
             System.out.println("BankServiceProxy: Returning cached balance");
             logResponse("BALANCE_INQUIRY", "SUCCESS (CACHED)", 0);
             return cachedBalance;
@@ -60,12 +76,15 @@ public class BankServiceProxy implements BankService {
         
         long startTime = System.currentTimeMillis();
         
-        // Delegate to real service
-        double balance = realBankService.getAccountBalance(account);
+        // Delegate to real service, unless another request for this account is already waiting on it
+        double balance = balanceFlights.run(account.getAccountNumber(), () -> {
+            long loadToken = balanceCache.beginLoad();
+            double fetched = realBankService.getAccountBalance(account);
         
-        // Update cache
-        cachedBalance = balance;
-        lastBalanceCheck = currentTime;
+            // Update cache
+            balanceCache.put(account.getAccountNumber(), fetched, loadToken);
+            return fetched;
+        });
         
         long duration = System.currentTimeMillis() - startTime;
         logResponse("BALANCE_INQUIRY", "SUCCESS", duration);
@@ -80,20 +99,41 @@ public class BankServiceProxy implements BankService {
                   ", Amount: $" + String.format("%.2f", transaction.getAmount()) +
                   ", Account: " + maskAccountNumber(transaction.getSourceAccount().getAccountNumber()));
         
-        // Clear balance cache since balance will change
-        cachedBalance = -1;
+        // Clear this account's cached balance since it will change
+        accountChanged(transaction.getSourceAccount());
         
         long startTime = System.currentTimeMillis();
         
         // Delegate to real service
         TransactionStatus status = realBankService.executeTransaction(transaction);
         
+        // Again once settled, in case a balance read overlapped the transaction
+        accountChanged(transaction.getSourceAccount());
+        
         long duration = System.currentTimeMillis() - startTime;
         logResponse("TRANSACTION", status.toString(), duration);
         
         return status;
     }
     
+    @Override
+    public List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        logRequest("TRANSACTION_BATCH", transactions.size() + " transactions");
+        transactions.forEach(transaction -> accountChanged(transaction.getSourceAccount()));
+        
+        long startTime = System.currentTimeMillis();
+        
+        // Delegate to real service as one request
+        List<TransactionStatus> statuses = realBankService.executeTransactions(transactions);
+        
+        transactions.forEach(transaction -> accountChanged(transaction.getSourceAccount()));
+        
+        long duration = System.currentTimeMillis() - startTime;
+        logResponse("TRANSACTION_BATCH", "SUCCESS - " + statuses.size() + " statuses", duration);
+        
+        return statuses;
+    }
+    
     @Override
     public List<Transaction> getMiniStatement(Account account) {
         // Logging
@@ -101,8 +141,9 @@ public class BankServiceProxy implements BankService {
         
         long startTime = System.currentTimeMillis();
         
-        // Delegate to real service
-        List<Transaction> transactions = realBankService.getMiniStatement(account);
+        // Delegate to real service, unless another request for this account is already waiting on it
+        List<Transaction> transactions = statementFlights.run(account.getAccountNumber(), 
+            () -> realBankService.getMiniStatement(account));
         
         long duration = System.currentTimeMillis() - startTime;
         logResponse("MINI_STATEMENT", "SUCCESS - " + transactions.size() + " transactions", duration);
@@ -133,8 +174,133 @@ public class BankServiceProxy implements BankService {
         return result;
     }
     
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        logRequest("AUTHENTICATE", "Card: " + maskCardNumber(cardDetails.getCardNumber()));
+        
+        // Security: validate inputs
+        if (cardDetails == null || pin == null || pin.length() != 4) {
+            logResponse("AUTHENTICATE", "FAILED - Invalid input");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        long startTime = System.currentTimeMillis();
+        return asyncRealBankService.authenticateAsync(cardDetails, pin)
+            .whenComplete((result, error) -> logCompletion("AUTHENTICATE", 
+                error == null ? (result ? "SUCCESS" : "FAILED") : null, error, startTime));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        logRequest("BALANCE_INQUIRY", "Account: " + maskAccountNumber(account.getAccountNumber()));
+        
+        // Check cache first
+        Double cachedBalance = balanceCache.get(account.getAccountNumber());
+        if (cachedBalance != null) {
+            System.out.println("BankServiceProxy: Returning cached balance");
+            logResponse("BALANCE_INQUIRY", "SUCCESS (CACHED)", 0);
+            return CompletableFuture.completedFuture(cachedBalance);
+        }
+        
+        long startTime = System.currentTimeMillis();
+        return balanceFlights.runAsync(account.getAccountNumber(), () -> {
+            long loadToken = balanceCache.beginLoad();
+            return asyncRealBankService.getAccountBalanceAsync(account)
+                .whenComplete((balance, error) -> {
+                    if (error == null) {
+                        // Update cache
+                        balanceCache.put(account.getAccountNumber(), balance, loadToken);
+                    }
+                });
+        }).whenComplete((balance, error) -> logCompletion("BALANCE_INQUIRY", "SUCCESS", error, startTime));
+    }
+    
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        logRequest("TRANSACTION", "Type: " + transaction.getType() + 
+                  ", Amount: $" + String.format("%.2f", transaction.getAmount()) +
+                  ", Account: " + maskAccountNumber(transaction.getSourceAccount().getAccountNumber()));
+        
+        // Clear this account's cached balance since it will change
+        accountChanged(transaction.getSourceAccount());
+        
+        long startTime = System.currentTimeMillis();
+        return asyncRealBankService.executeTransactionAsync(transaction)
+            .whenComplete((status, error) -> {
+                // Again once settled, in case a balance read overlapped the transaction
+                accountChanged(transaction.getSourceAccount());
+                logCompletion("TRANSACTION", error == null ? status.toString() : null, error, startTime);
+            });
+    }
+    
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        logRequest("TRANSACTION_BATCH", transactions.size() + " transactions");
+        transactions.forEach(transaction -> accountChanged(transaction.getSourceAccount()));
+        
+        long startTime = System.currentTimeMillis();
+        return asyncRealBankService.executeTransactionsAsync(transactions)
+            .whenComplete((statuses, error) -> {
+                transactions.forEach(transaction -> accountChanged(transaction.getSourceAccount()));
+                logCompletion("TRANSACTION_BATCH", 
+                    error == null ? "SUCCESS - " + statuses.size() + " statuses" : null, error, startTime);
+            });
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        logRequest("MINI_STATEMENT", "Account: " + maskAccountNumber(account.getAccountNumber()));
+        
+        long startTime = System.currentTimeMillis();
+        return statementFlights.runAsync(account.getAccountNumber(), 
+                () -> asyncRealBankService.getMiniStatementAsync(account))
+            .whenComplete((transactions, error) -> logCompletion("MINI_STATEMENT", 
+                error == null ? "SUCCESS - " + transactions.size() + " transactions" : null, error, startTime));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        logRequest("PIN_CHANGE", "Card: " + maskCardNumber(cardDetails.getCardNumber()));
+        
+        // Security: validate inputs
+        if (cardDetails == null || oldPin == null || newPin == null || 
+            oldPin.length() != 4 || newPin.length() != 4) {
+            logResponse("PIN_CHANGE", "FAILED - Invalid input");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        long startTime = System.currentTimeMillis();
+        return asyncRealBankService.changePinAsync(cardDetails, oldPin, newPin)
+            .whenComplete((result, error) -> logCompletion("PIN_CHANGE", 
+                error == null ? (result ? "SUCCESS" : "FAILED") : null, error, startTime));
+    }
+    
+    public BalanceCache getBalanceCache() {
+        return balanceCache;
+    }
+    
+    public SingleFlight<String, Double> getBalanceFlights() {
+        return balanceFlights;
+    }
+    
+    public SingleFlight<String, List<Transaction>> getStatementFlights() {
+        return statementFlights;
+    }
+    
+    // Reads already in flight for the account may predate the change, so later ones start afresh
+    private void accountChanged(Account account) {
+        balanceCache.invalidate(account.getAccountNumber());
+        balanceFlights.forget(account.getAccountNumber());
+        statementFlights.forget(account.getAccountNumber());
+    }
+    
+    private void logCompletion(String operation, String result, Throwable error, long startTime) {
+        long duration = System.currentTimeMillis() - startTime;
+        logResponse(operation, error == null ? result : "ERROR - " + error.getMessage(), duration);
+    }
+    
     private void logRequest(String operation, String details) {
-        System.out.println("PROXY LOG [" + dateFormat.format(new Date()) + "] " +
+        System.out.println("PROXY LOG [" + LocalDateTime.now().format(dateFormat) + "] " +
                           "REQUEST - " + operation + ": " + details);
     }
     
@@ -144,7 +310,7 @@ public class BankServiceProxy implements BankService {
     
     private void logResponse(String operation, String result, long durationMs) {
         String duration = durationMs >= 0 ? " (" + durationMs + "ms)" : "";
-        System.out.println("PROXY LOG [" + dateFormat.format(new Date()) + "] " +
+        System.out.println("PROXY LOG [" + LocalDateTime.now().format(dateFormat) + "] " +
                           "RESPONSE - " + operation + ": " + result + duration);
     }
     
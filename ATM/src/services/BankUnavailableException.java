@@ -0,0 +1,10 @@
+package services;
+
+// Thrown instead of calling the bank while the circuit breaker considers it down
+public class BankUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    public BankUnavailableException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package services;
+
+import enums.TransactionStatus;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+// Some transactions of a batch got a status and others did not, e.g. because one of several issuers
+// was down. Statuses and errors are indexed like the batch; exactly one of the two is set per index.
+public class BatchPartiallyFailedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    private final transient List<TransactionStatus> statuses;
+    private final transient List<Throwable> errors;
+    
+    public BatchPartiallyFailedException(List<TransactionStatus> statuses, List<Throwable> errors) {
+        super(countFailed(errors) + " of " + errors.size() + " transactions failed");
+        this.statuses = Collections.unmodifiableList(statuses);
+        this.errors = Collections.unmodifiableList(errors);
+    }
+    
+    // Null at the indexes that failed
+    public List<TransactionStatus> getStatuses() {
+        return statuses;
+    }
+    
+    // Null at the indexes that settled
+    public List<Throwable> getErrors() {
+        return errors;
+    }
+    
+    // The exception behind an error seen by a future callback, or null if it is a different failure
+    public static BatchPartiallyFailedException from(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof BatchPartiallyFailedException ? (BatchPartiallyFailedException) error : null;
+    }
+    
+    private static int countFailed(List<Throwable> errors) {
+        int failed = 0;
+        for (Throwable error : errors) {
+            if (error != null) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package services;
+
+import interfaces.AsyncBankService;
+import interfaces.BankService;
+import models.*;
+import enums.TransactionStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Gathers transactions from many ATMs and sends them to the bank as one batch request, once the oldest
+// has waited the window or the batch is full. Each caller still gets its own status.
+// Everything else is passed straight through.
+public class BatchingBankService implements BankService, AsyncBankService, AutoCloseable {
+    private final BankService bankService;
+    private final AsyncBankService asyncBankService;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService timer;
+    private final LongAdder batchesSent;
+    private final LongAdder transactionsSent;
+    
+    // Guarded by this
+    private List<PendingTransaction> pending;
+    private ScheduledFuture<?> windowTimer;
+    private boolean closed;
+    
+    public <S extends BankService & AsyncBankService> BatchingBankService(S bank, long windowMs, int maxBatchSize) {
+        this.bankService = bank;
+        this.asyncBankService = bank;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchesSent = new LongAdder();
+        this.transactionsSent = new LongAdder();
+        this.pending = new ArrayList<>();
+    }
+    
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        CompletableFuture<TransactionStatus> result = new CompletableFuture<>();
+        List<PendingTransaction> fullBatch = null;
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Transaction batcher is closed"));
+            }
+            pending.add(new PendingTransaction(transaction, result));
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = takePending();
+            } else if (windowTimer == null) {
+                windowTimer = timer.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        // Sent outside the lock so other ATMs can keep adding to the next batch
+        if (fullBatch != null) {
+            send(fullBatch);
+        }
+        return result;
+    }
+    
+    @Override
+    public TransactionStatus executeTransaction(Transaction transaction) {
+        try {
+            return executeTransactionAsync(transaction).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    // Sends whatever is waiting without waiting for the window to close
+    public void flush() {
+        List<PendingTransaction> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+    
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        timer.shutdown();
+    }
+    
+    public long getBatchCount() {
+        return batchesSent.sum();
+    }
+    
+    public long getTransactionCount() {
+        return transactionsSent.sum();
+    }
+    
+    public double getAverageBatchSize() {
+        long batches = batchesSent.sum();
+        return batches == 0 ? 0.0 : (double) transactionsSent.sum() / batches;
+    }
+    
+    private List<PendingTransaction> takePending() {
+        List<PendingTransaction> batch = pending;
+        pending = new ArrayList<>();
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+            windowTimer = null;
+        }
+        return batch;
+    }
+    
+    private void send(List<PendingTransaction> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (PendingTransaction item : batch) {
+            transactions.add(item.transaction);
+        }
+        batchesSent.increment();
+        transactionsSent.add(batch.size());
+        
+        CompletableFuture<List<TransactionStatus>> call;
+        try {
+            call = asyncBankService.executeTransactionsAsync(transactions);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((statuses, error) -> {
+            // E.g. one of several issuers was down: only its transactions fail
+            BatchPartiallyFailedException partial = BatchPartiallyFailedException.from(error);
+            if (partial != null && partial.getErrors().size() == batch.size()) {
+                for (int i = 0; i < batch.size(); i++) {
+                    Throwable itemError = partial.getErrors().get(i);
+                    if (itemError != null) {
+                        batch.get(i).result.completeExceptionally(itemError);
+                    } else {
+                        batch.get(i).result.complete(partial.getStatuses().get(i));
+                    }
+                }
+                return;
+            }
+            if (error == null && statuses.size() != batch.size()) {
+                error = new IllegalStateException("Bank returned " + statuses.size() + 
+                    " statuses for " + batch.size() + " transactions");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (error != null) {
+                    batch.get(i).result.completeExceptionally(error);
+                } else {
+                    batch.get(i).result.complete(statuses.get(i));
+                }
+            }
+        });
+    }
+    
+    @Override
+    public boolean authenticate(CardDetails cardDetails, String pin) {
+        return bankService.authenticate(cardDetails, pin);
+    }
+    
+    @Override
+    public double getAccountBalance(Account account) {
+        return bankService.getAccountBalance(account);
+    }
+    
+    @Override
+    public List<Transaction> getMiniStatement(Account account) {
+        return bankService.getMiniStatement(account);
+    }
+    
+    @Override
+    public boolean changePin(CardDetails cardDetails, String oldPin, String newPin) {
+        return bankService.changePin(cardDetails, oldPin, newPin);
+    }
+    
+    @Override
+    public List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        return bankService.executeTransactions(transactions);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        return asyncBankService.authenticateAsync(cardDetails, pin);
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        return asyncBankService.getAccountBalanceAsync(account);
+    }
+    
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        return asyncBankService.executeTransactionsAsync(transactions);
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        return asyncBankService.getMiniStatementAsync(account);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        return asyncBankService.changePinAsync(cardDetails, oldPin, newPin);
+    }
+    
+    private static class PendingTransaction {
+        private final Transaction transaction;
+        private final CompletableFuture<TransactionStatus> result;
+        
+        PendingTransaction(Transaction transaction, CompletableFuture<TransactionStatus> result) {
+            this.transaction = transaction;
+            this.result = result;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package services;
+
+import java.util.Arrays;
+import java.util.Map;
+
+// Immutable digit trie from card number prefixes (BINs) to values; lookup returns the longest matching
+// prefix. Nodes are packed into one int array, ten child slots per node, so a lookup is a few array
+// reads per digit with no allocation.
+public final class BinTrie<V> {
+    private static final int RADIX = 10;
+    
+    private final int[] children; // children[node * RADIX + digit] = child node, 0 = none (root is never a child)
+    private final Object[] values;
+    private final int maxDepth;
+    
+    private BinTrie(int[] children, Object[] values, int maxDepth) {
+        this.children = children;
+        this.values = values;
+        this.maxDepth = maxDepth;
+    }
+    
+    public static <V> BinTrie<V> build(Map<String, V> prefixes) {
+        int[] children = new int[RADIX * 64];
+        Object[] values = new Object[64];
+        int nodeCount = 1;
+        int maxDepth = 0;
+        
+        for (Map.Entry<String, V> entry : prefixes.entrySet()) {
+            String prefix = entry.getKey();
+            if (prefix.isEmpty()) {
+                throw new IllegalArgumentException("BIN prefix must not be empty");
+            }
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int digit = prefix.charAt(i) - '0';
+                if (digit < 0 || digit >= RADIX) {
+                    throw new IllegalArgumentException("BIN prefix must be digits: " + prefix);
+                }
+                int slot = node * RADIX + digit;
+                if (children[slot] == 0) {
+                    if (nodeCount == values.length) {
+                        values = Arrays.copyOf(values, nodeCount * 2);
+                        children = Arrays.copyOf(children, nodeCount * 2 * RADIX);
+                    }
+                    children[slot] = nodeCount++;
+                }
+                node = children[slot];
+            }
+            values[node] = entry.getValue();
+            maxDepth = Math.max(maxDepth, prefix.length());
+        }
+        return new BinTrie<>(Arrays.copyOf(children, nodeCount * RADIX), Arrays.copyOf(values, nodeCount), maxDepth);
+    }
+    
+    // Value of the longest prefix of the card number in the trie, or null
+    @SuppressWarnings("unchecked")
+    public V lookup(CharSequence cardNumber) {
+        Object match = null;
+        int node = 0;
+        int depth = Math.min(maxDepth, cardNumber.length());
+        for (int i = 0; i < depth; i++) {
+            int digit = cardNumber.charAt(i) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                break;
+            }
+            node = children[node * RADIX + digit];
+            if (node == 0) {
+                break;
+            }
+            if (values[node] != null) {
+                match = values[node];
+            }
+        }
+        return (V) match;
+    }
+    
+    public int getNodeCount() {
+        return values.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package services;
+
+// Stops calls to the bank once too many recent calls failed, then lets a few trial calls through after
+// a cool-down to see whether it has recovered. Outcomes are kept for a fixed number of recent calls.
+// Every admitted call carries a Permit from the state it was admitted in, so a call that started before
+// the breaker opened never counts as a trial, and a trial from an earlier round never closes it.
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    public static final class Permit {
+        private final long generation;
+        private final boolean trial;
+        
+        private Permit(long generation, boolean trial) {
+            this.generation = generation;
+            this.trial = trial;
+        }
+        
+        public boolean isTrial() {
+            return trial;
+        }
+    }
+    
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int trialCalls;
+    
+    // Guarded by this
+    private final boolean[] failures;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private State state;
+    private long generation; // Bumped on every state change; outcomes from older permits are ignored
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long rejectedCalls;
+    
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMs, int trialCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.trialCalls = trialCalls;
+        this.failures = new boolean[windowSize];
+        this.state = State.CLOSED;
+    }
+    
+    // Returns null when the call should fail fast; every permit must be passed to onSuccess or onFailure
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                rejectedCalls++;
+                return null;
+            }
+            state = State.HALF_OPEN;
+            generation++;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= trialCalls) {
+                rejectedCalls++;
+                return null;
+            }
+            trialsStarted++;
+            return new Permit(generation, true);
+        }
+        return new Permit(generation, false);
+    }
+    
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation != generation) {
+            return; // Admitted under an earlier state
+        }
+        if (permit.trial) {
+            trialsSucceeded++;
+            if (trialsSucceeded >= trialCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+    
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (permit.trial) {
+            open(); // The bank is still unwell; wait another cool-down
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && 
+            (double) failureCount / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized long getRejectedCount() {
+        return rejectedCalls;
+    }
+    
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        next = (next + 1) % windowSize;
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        generation++;
+        openedAt = System.currentTimeMillis();
+        System.out.println("CircuitBreaker: Bank calls suspended for " + openDurationMs + "ms");
+    }
+    
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+        System.out.println("CircuitBreaker: Bank calls resumed");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,219 @@
+package services;
+
+import interfaces.AsyncBankService;
+import interfaces.BankService;
+import models.*;
+import enums.TransactionStatus;
+import enums.TransactionType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Local stand-in for the bank host with adjustable faults: latency with a slow tail, random errors,
+// and an outage mode in which requests are never answered. Settings can be changed while it runs.
+// With a connection limit, each request holds one of a few connections for its whole round trip,
+// whether it carries one transaction or many, and later requests queue for a free one.
+public class FaultInjectingBankService implements BankService, AsyncBankService {
+    private final ScheduledExecutorService responder;
+    private final LongAdder requests;
+    
+    private volatile long baseLatencyMs = 20;
+    private volatile long jitterMs = 10;
+    private volatile double slowProbability = 0.0;
+    private volatile long slowLatencyMs = 0;
+    private volatile double failureRate = 0.0;
+    private volatile boolean unresponsive = false;
+    private volatile int connectionLimit = 0; // 0 means unlimited
+    
+    // Guarded by this
+    private int busyConnections;
+    private final Queue<Runnable> waitingForConnection = new ArrayDeque<>();
+    
+    public FaultInjectingBankService() {
+        this.responder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fault-injecting-bank");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.requests = new LongAdder();
+    }
+    
+    public void setLatency(long baseLatencyMs, long jitterMs) {
+        this.baseLatencyMs = baseLatencyMs;
+        this.jitterMs = jitterMs;
+    }
+    
+    // A fraction of requests take slowLatencyMs instead, like a host with a long tail
+    public void setSlowTail(double slowProbability, long slowLatencyMs) {
+        this.slowProbability = slowProbability;
+        this.slowLatencyMs = slowLatencyMs;
+    }
+    
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+    
+    // While set, requests are accepted but never answered
+    public void setUnresponsive(boolean unresponsive) {
+        this.unresponsive = unresponsive;
+    }
+    
+    // Requests beyond the limit wait for a connection; 0 removes the limit
+    public void setConnectionLimit(int connectionLimit) {
+        this.connectionLimit = connectionLimit;
+    }
+    
+    public long getRequestCount() {
+        return requests.sum();
+    }
+    
+    public void shutdown() {
+        responder.shutdownNow();
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        return respond(() -> "1234".equals(pin));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        return respond(() -> 100 + ThreadLocalRandom.current().nextDouble() * 9900);
+    }
+    
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        return respond(() -> TransactionStatus.SUCCESS);
+    }
+    
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        return respond(() -> new ArrayList<>(Collections.nCopies(transactions.size(), TransactionStatus.SUCCESS)));
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        return respond(() -> {
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                transactions.add(new Transaction("TXN" + i, account, TransactionType.CASH_WITHDRAWAL, 
+                    100.0, TransactionStatus.SUCCESS, new Date()));
+            }
+            return transactions;
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        return respond(() -> "1234".equals(oldPin) && newPin != null && newPin.length() == 4);
+    }
+    
+    @Override
+    public boolean authenticate(CardDetails cardDetails, String pin) {
+        return join(authenticateAsync(cardDetails, pin));
+    }
+    
+    @Override
+    public double getAccountBalance(Account account) {
+        return join(getAccountBalanceAsync(account));
+    }
+    
+    @Override
+    public TransactionStatus executeTransaction(Transaction transaction) {
+        return join(executeTransactionAsync(transaction));
+    }
+    
+    @Override
+    public List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        return join(executeTransactionsAsync(transactions));
+    }
+    
+    @Override
+    public List<Transaction> getMiniStatement(Account account) {
+        return join(getMiniStatementAsync(account));
+    }
+    
+    @Override
+    public boolean changePin(CardDetails cardDetails, String oldPin, String newPin) {
+        return join(changePinAsync(cardDetails, oldPin, newPin));
+    }
+    
+    private <T> CompletableFuture<T> respond(Supplier<T> response) {
+        requests.increment();
+        CompletableFuture<T> reply = new CompletableFuture<>();
+        if (unresponsive) {
+            return reply;
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMs = random.nextDouble() < slowProbability 
+            ? slowLatencyMs 
+            : baseLatencyMs + (jitterMs > 0 ? random.nextLong(jitterMs) : 0);
+        boolean fails = random.nextDouble() < failureRate;
+        boolean limited = connectionLimit > 0;
+        Runnable send = () -> responder.schedule(() -> {
+            try {
+                if (fails) {
+                    reply.completeExceptionally(new IllegalStateException("Injected bank error"));
+                } else {
+                    reply.complete(response.get());
+                }
+            } finally {
+                if (limited) {
+                    releaseConnection();
+                }
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+        
+        if (limited && !acquireConnection(send)) {
+            return reply; // Sent once a connection frees up
+        }
+        send.run();
+        return reply;
+    }
+    
+    private synchronized boolean acquireConnection(Runnable send) {
+        if (busyConnections < connectionLimit) {
+            busyConnections++;
+            return true;
+        }
+        waitingForConnection.add(send);
+        return false;
+    }
+    
+    // The connection passes straight to the next waiting request, if any
+    private void releaseConnection() {
+        Runnable next;
+        synchronized (this) {
+            next = waitingForConnection.poll();
+            if (next == null) {
+                busyConnections--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+    
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
\ No newline at end of file
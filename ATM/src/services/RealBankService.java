@@ -1,5 +1,6 @@
 package services;
 
+import interfaces.AsyncBankService;
 import interfaces.BankService;
 import models.*;
 import enums.TransactionStatus;
@@ -7,9 +8,24 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 // Mock implementation of bank service
-public class RealBankService implements BankService {
+public class RealBankService implements BankService, AsyncBankService {
+    // Async replies are timed by the shared delay scheduler and completed on this pool,
+    // so no thread waits out the simulated network delay
+    private static final ExecutorService RESPONSE_POOL = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "bank-response");
+            thread.setDaemon(true);
+            return thread;
+        });
+    
     private Random random;
     private String bankName;
     
@@ -21,12 +37,106 @@ public class RealBankService implements BankService {
     
     @Override
     public boolean authenticate(CardDetails cardDetails, String pin) {
-        System.out.println("RealBankService: Authenticating card " + cardDetails.getCardNumber() + 
-                          " with " + bankName);
+        logAuthenticate(cardDetails);
         
         // Simulate network delay
         simulateNetworkDelay(1000, 2000);
         
+        return checkPin(pin);
+    }
+    
+    @Override
+    public double getAccountBalance(Account account) {
+        logBalanceRequest(account);
+        
+        // Simulate network delay
+        simulateNetworkDelay(500, 1500);
+        
+        return lookUpBalance();
+    }
+    
+    @Override
+    public TransactionStatus executeTransaction(Transaction transaction) {
+        logTransaction(transaction);
+        
+        // Simulate network delay
+        simulateNetworkDelay(1500, 3000);
+        
+        return settleTransaction(transaction);
+    }
+    
+    @Override
+    public List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        transactions.forEach(this::logTransaction);
+        
+        // One round trip for the whole batch
+        simulateNetworkDelay(1500, 3000);
+        
+        return settleTransactions(transactions);
+    }
+    
+    @Override
+    public List<Transaction> getMiniStatement(Account account) {
+        logMiniStatementRequest(account);
+        
+        // Simulate network delay
+        simulateNetworkDelay(1000, 2000);
+        
+        return buildMiniStatement(account);
+    }
+    
+    @Override
+    public boolean changePin(CardDetails cardDetails, String oldPin, String newPin) {
+        logPinChange(cardDetails);
+        
+        // Simulate network delay
+        simulateNetworkDelay(1500, 2500);
+        
+        return applyPinChange(oldPin, newPin);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        logAuthenticate(cardDetails);
+        return respondAfter(1000, 2000, () -> checkPin(pin));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        logBalanceRequest(account);
+        return respondAfter(500, 1500, this::lookUpBalance);
+    }
+    
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        logTransaction(transaction);
+        return respondAfter(1500, 3000, () -> settleTransaction(transaction));
+    }
+    
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        transactions.forEach(this::logTransaction);
+        return respondAfter(1500, 3000, () -> settleTransactions(transactions));
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        logMiniStatementRequest(account);
+        return respondAfter(1000, 2000, () -> buildMiniStatement(account));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        logPinChange(cardDetails);
+        return respondAfter(1500, 2500, () -> applyPinChange(oldPin, newPin));
+    }
+    
+    private void logAuthenticate(CardDetails cardDetails) {
+        System.out.println("RealBankService: Authenticating card " + cardDetails.getCardNumber() + 
+                          " with " + bankName);
+    }
+    
+    private boolean checkPin(String pin) {
         // Mock authentication logic - accept PIN "1234" for demo
         boolean isAuthenticated = "1234".equals(pin);
         
@@ -36,14 +146,12 @@ public class RealBankService implements BankService {
         return isAuthenticated;
     }
     
-    @Override
-    public double getAccountBalance(Account account) {
+    private void logBalanceRequest(Account account) {
         System.out.println("RealBankService: Getting balance for account " + 
                           account.getAccountNumber());
+    }
         
-        // Simulate network delay
-        simulateNetworkDelay(500, 1500);
-        
+    private double lookUpBalance() {
         // Mock balance - generate random balance between $100 and $10000
         double balance = 100 + (random.nextDouble() * 9900);
         
@@ -53,16 +161,14 @@ public class RealBankService implements BankService {
         return balance;
     }
     
-    @Override
-    public TransactionStatus executeTransaction(Transaction transaction) {
+    private void logTransaction(Transaction transaction) {
         System.out.println("RealBankService: Executing transaction " + 
                           transaction.getTransactionId() + 
                           " of type " + transaction.getType() + 
                           " for amount $" + transaction.getAmount());
+    }
         
-        // Simulate network delay
-        simulateNetworkDelay(1500, 3000);
-        
+    private TransactionStatus settleTransaction(Transaction transaction) {
         // Mock transaction logic - randomly succeed 90% of the time
         TransactionStatus status = (random.nextDouble() < 0.9) ? 
                                   TransactionStatus.SUCCESS : 
@@ -74,14 +180,20 @@ public class RealBankService implements BankService {
         return status;
     }
     
-    @Override
-    public List<Transaction> getMiniStatement(Account account) {
+    private List<TransactionStatus> settleTransactions(List<Transaction> transactions) {
+        List<TransactionStatus> statuses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            statuses.add(settleTransaction(transaction));
+        }
+        return statuses;
+    }
+    
+    private void logMiniStatementRequest(Account account) {
         System.out.println("RealBankService: Getting mini statement for account " + 
                           account.getAccountNumber());
+    }
         
-        // Simulate network delay
-        simulateNetworkDelay(1000, 2000);
-        
+    private List<Transaction> buildMiniStatement(Account account) {
         // Mock mini statement - generate some sample transactions
         List<Transaction> transactions = new ArrayList<>();
         
@@ -103,14 +215,12 @@ public class RealBankService implements BankService {
         return transactions;
     }
     
-    @Override
-    public boolean changePin(CardDetails cardDetails, String oldPin, String newPin) {
+    private void logPinChange(CardDetails cardDetails) {
         System.out.println("RealBankService: Changing PIN for card " + 
                           cardDetails.getCardNumber());
+    }
         
-        // Simulate network delay
-        simulateNetworkDelay(1500, 2500);
-        
+    private boolean applyPinChange(String oldPin, String newPin) {
         // Mock PIN change logic - succeed if old PIN is "1234"
         boolean success = "1234".equals(oldPin) && newPin != null && newPin.length() == 4;
         
@@ -129,6 +239,12 @@ public class RealBankService implements BankService {
         }
     }
     
+    private <T> CompletableFuture<T> respondAfter(int minMs, int maxMs, Supplier<T> response) {
+        int delay = minMs + random.nextInt(maxMs - minMs);
+        Executor afterDelay = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, RESPONSE_POOL);
+        return CompletableFuture.supplyAsync(response, afterDelay);
+    }
+    
     private enums.TransactionType getRandomTransactionType() {
         enums.TransactionType[] types = enums.TransactionType.values();
         return types[random.nextInt(types.length)];
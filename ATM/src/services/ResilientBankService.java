@@ -0,0 +1,291 @@
+package services;
+
+import interfaces.AsyncBankService;
+import interfaces.BankService;
+import models.*;
+import enums.TransactionStatus;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Keeps a slow or failing bank from holding up the ATMs: every call has a deadline, a circuit breaker
+// fails calls fast while the bank is down, and balance and mini-statement reads that are slower than
+// usual get a second request, so a slow answer from the bank does not hold up the customer.
+public class ResilientBankService implements BankService, AsyncBankService {
+    public enum Operation { AUTHENTICATE, BALANCE_INQUIRY, TRANSACTION, MINI_STATEMENT, PIN_CHANGE }
+    
+    private static final int MIN_SAMPLES_FOR_HEDGING = 20;
+    private static final int HEDGE_BUDGET_PERCENT = 10; // At most one extra read per ten reads
+    
+    private final BankService bankService;
+    private final AsyncBankService asyncBankService;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<Operation, Long> deadlinesMs;
+    private final ScheduledExecutorService timer;
+    private final LatencyTracker balanceLatency;
+    private final LatencyTracker statementLatency;
+    private final LongAdder reads;
+    private final LongAdder hedges;
+    private final LongAdder hedgeWins;
+    private final LongAdder timeouts;
+    
+    public <S extends BankService & AsyncBankService> ResilientBankService(S bank, CircuitBreaker circuitBreaker) {
+        this.bankService = bank;
+        this.asyncBankService = bank;
+        this.circuitBreaker = circuitBreaker;
+        
+        // Comfortably above RealBankService's slowest normal answer for each call
+        this.deadlinesMs = new ConcurrentHashMap<>();
+        deadlinesMs.put(Operation.AUTHENTICATE, 3000L);
+        deadlinesMs.put(Operation.BALANCE_INQUIRY, 2500L);
+        deadlinesMs.put(Operation.TRANSACTION, 5000L);
+        deadlinesMs.put(Operation.MINI_STATEMENT, 3000L);
+        deadlinesMs.put(Operation.PIN_CHANGE, 4000L);
+        
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bank-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.balanceLatency = new LatencyTracker(256);
+        this.statementLatency = new LatencyTracker(256);
+        this.reads = new LongAdder();
+        this.hedges = new LongAdder();
+        this.hedgeWins = new LongAdder();
+        this.timeouts = new LongAdder();
+    }
+    
+    public void setDeadline(Operation operation, long deadlineMs) {
+        deadlinesMs.put(operation, deadlineMs);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        return call(Operation.AUTHENTICATE, () -> asyncBankService.authenticateAsync(cardDetails, pin));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        return hedgedRead(Operation.BALANCE_INQUIRY, balanceLatency, () -> asyncBankService.getAccountBalanceAsync(account));
+    }
+    
+    // Transactions are never sent twice: a timed-out one may still settle, so it fails with
+    // TransactionOutcomeUnknownException rather than looking like a decline
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        return call(Operation.TRANSACTION, () -> asyncBankService.executeTransactionAsync(transaction));
+    }
+    
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        return call(Operation.TRANSACTION, () -> asyncBankService.executeTransactionsAsync(transactions));
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        return hedgedRead(Operation.MINI_STATEMENT, statementLatency, () -> asyncBankService.getMiniStatementAsync(account));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        return call(Operation.PIN_CHANGE, () -> asyncBankService.changePinAsync(cardDetails, oldPin, newPin));
+    }
+    
+    // Blocking calls go through the async path so the deadline holds even if the bank never answers
+    @Override
+    public boolean authenticate(CardDetails cardDetails, String pin) {
+        return join(authenticateAsync(cardDetails, pin));
+    }
+    
+    @Override
+    public double getAccountBalance(Account account) {
+        return join(getAccountBalanceAsync(account));
+    }
+    
+    @Override
+    public TransactionStatus executeTransaction(Transaction transaction) {
+        return join(executeTransactionAsync(transaction));
+    }
+    
+    @Override
+    public List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        return join(executeTransactionsAsync(transactions));
+    }
+    
+    @Override
+    public List<Transaction> getMiniStatement(Account account) {
+        return join(getMiniStatementAsync(account));
+    }
+    
+    @Override
+    public boolean changePin(CardDetails cardDetails, String oldPin, String newPin) {
+        return join(changePinAsync(cardDetails, oldPin, newPin));
+    }
+    
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+    
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+    
+    // Hedged reads where the second request answered first
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+    
+    public long getHedgeDelayMs(Operation operation) {
+        return operation == Operation.MINI_STATEMENT ? statementLatency.p95() : balanceLatency.p95();
+    }
+    
+    public void shutdown() {
+        timer.shutdown();
+    }
+    
+    private <T> CompletableFuture<T> call(Operation operation, Supplier<CompletableFuture<T>> bankCall) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            return CompletableFuture.failedFuture(new BankUnavailableException("Bank unavailable, " + operation + " not sent"));
+        }
+        // A copy, so a deadline never completes a future the bank or another caller holds
+        CompletableFuture<T> result = withDeadline(operation, invoke(bankCall).copy());
+        return recordOutcome(result, permit);
+    }
+    
+    private <T> CompletableFuture<T> hedgedRead(Operation operation, LatencyTracker latency, 
+                                                Supplier<CompletableFuture<T>> bankCall) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            return CompletableFuture.failedFuture(new BankUnavailableException("Bank unavailable, " + operation + " not sent"));
+        }
+        reads.increment();
+        
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger();
+        attempt(result, outstanding, latency, bankCall, false);
+        
+        // Once the first request is slower than 95% of recent ones, ask again and take whichever answers first
+        long hedgeDelayMs = latency.p95();
+        if (hedgeDelayMs >= 0) {
+            ScheduledFuture<?> hedge = timer.schedule(() -> {
+                if (!result.isDone() && hedges.sum() * 100 < reads.sum() * HEDGE_BUDGET_PERCENT) {
+                    hedges.increment();
+                    attempt(result, outstanding, latency, bankCall, true);
+                }
+            }, hedgeDelayMs, TimeUnit.MILLISECONDS);
+            result.whenComplete((value, error) -> hedge.cancel(false));
+        }
+        return recordOutcome(withDeadline(operation, result), permit);
+    }
+    
+    private <T> void attempt(CompletableFuture<T> result, AtomicInteger outstanding, LatencyTracker latency, 
+                             Supplier<CompletableFuture<T>> bankCall, boolean isHedge) {
+        outstanding.incrementAndGet();
+        long startTime = System.currentTimeMillis();
+        invoke(bankCall).whenComplete((value, error) -> {
+            int stillRunning = outstanding.decrementAndGet();
+            if (error == null) {
+                latency.record(System.currentTimeMillis() - startTime);
+                if (result.complete(value) && isHedge) {
+                    hedgeWins.increment();
+                }
+            } else if (stillRunning == 0) {
+                result.completeExceptionally(error); // Only when no other request can still answer
+            }
+        });
+    }
+    
+    private <T> CompletableFuture<T> withDeadline(Operation operation, CompletableFuture<T> call) {
+        long deadlineMs = deadlinesMs.get(operation);
+        ScheduledFuture<?> deadline = timer.schedule(() -> {
+            String message = operation + " timed out after " + deadlineMs + "ms";
+            // The bank may still settle a transaction it already received, so its outcome is unknown, not failed
+            RuntimeException timeout = operation == Operation.TRANSACTION 
+                ? new TransactionOutcomeUnknownException(message) 
+                : new BankUnavailableException(message);
+            if (call.completeExceptionally(timeout)) {
+                timeouts.increment();
+            }
+        }, deadlineMs, TimeUnit.MILLISECONDS);
+        call.whenComplete((value, error) -> deadline.cancel(false));
+        return call;
+    }
+    
+    private <T> CompletableFuture<T> recordOutcome(CompletableFuture<T> call, CircuitBreaker.Permit permit) {
+        return call.whenComplete((value, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess(permit);
+            } else {
+                circuitBreaker.onFailure(permit);
+            }
+        });
+    }
+    
+    private static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> bankCall) {
+        try {
+            return bankCall.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    // Recent successful response times; the percentile is recomputed only after new samples arrive
+    private static class LatencyTracker {
+        private final long[] samples;
+        private int count;
+        private int next;
+        private long cachedP95 = -1;
+        private boolean dirty;
+        
+        LatencyTracker(int size) {
+            this.samples = new long[size];
+        }
+        
+        synchronized void record(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            dirty = true;
+        }
+        
+        // -1 until there are enough samples to trust
+        synchronized long p95() {
+            if (count < MIN_SAMPLES_FOR_HEDGING) {
+                return -1;
+            }
+            if (dirty) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                cachedP95 = sorted[(int) Math.ceil(0.95 * count) - 1];
+                dirty = false;
+            }
+            return cachedP95;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+package services;
+
+import interfaces.AsyncBankService;
+import interfaces.BankService;
+import models.*;
+import enums.TransactionStatus;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Sends each request to the card's issuing bank. Card calls are routed by the card number's BIN prefix,
+// account calls by the account's bank ID. Every issuer has its own proxy, so caches and logs stay
+// separate, and its own cap on requests in flight, so one slow issuer cannot take all the capacity.
+// The BIN table can be replaced while requests are running. It maps BINs to bank IDs, and the route is
+// looked up per request, so replacing an issuer's proxy takes effect without reloading the table.
+// A batch that spans issuers fails only the transactions of the issuers that failed.
+public class RoutingBankService implements BankService, AsyncBankService {
+    private final Map<String, IssuerRoute> issuers;
+    private volatile BinTrie<String> binTable;
+    
+    public RoutingBankService() {
+        this.issuers = new ConcurrentHashMap<>();
+        this.binTable = BinTrie.build(new HashMap<>());
+    }
+    
+    public void addIssuer(String bankId, BankServiceProxy proxy, int maxRequestsInFlight) {
+        issuers.put(bankId, new IssuerRoute(bankId, proxy, maxRequestsInFlight));
+    }
+    
+    // Swaps in a new BIN prefix -> bank ID table in one step; requests already routed are unaffected
+    public void reloadBinTable(Map<String, String> binToBankId) {
+        for (Map.Entry<String, String> entry : binToBankId.entrySet()) {
+            if (!issuers.containsKey(entry.getValue())) {
+                throw new IllegalArgumentException("Unknown issuer " + entry.getValue() + " for BIN " + entry.getKey());
+            }
+        }
+        this.binTable = BinTrie.build(new HashMap<>(binToBankId));
+        System.out.println("RoutingBankService: BIN table loaded with " + binToBankId.size() + " prefixes");
+    }
+    
+    // Bank ID of the card's issuer, or null if no BIN matches
+    public String resolveIssuer(String cardNumber) {
+        return binTable.lookup(cardNumber);
+    }
+    
+    public BankServiceProxy getIssuerProxy(String bankId) {
+        IssuerRoute route = issuers.get(bankId);
+        return route != null ? route.proxy : null;
+    }
+    
+    public long getRequestCount(String bankId) {
+        IssuerRoute route = issuers.get(bankId);
+        return route != null ? route.requests.sum() : 0;
+    }
+    
+    // Requests turned away because the issuer already had its maximum in flight
+    public long getRejectedCount(String bankId) {
+        IssuerRoute route = issuers.get(bankId);
+        return route != null ? route.rejected.sum() : 0;
+    }
+    
+    @Override
+    public boolean authenticate(CardDetails cardDetails, String pin) {
+        return callSync(routeCard(cardDetails), proxy -> proxy.authenticate(cardDetails, pin));
+    }
+    
+    @Override
+    public double getAccountBalance(Account account) {
+        return callSync(routeAccount(account), proxy -> proxy.getAccountBalance(account));
+    }
+    
+    @Override
+    public TransactionStatus executeTransaction(Transaction transaction) {
+        return callSync(routeAccount(transaction.getSourceAccount()), proxy -> proxy.executeTransaction(transaction));
+    }
+    
+    // Throws BatchPartiallyFailedException, holding the statuses that did settle, if any issuer failed
+    @Override
+    public List<TransactionStatus> executeTransactions(List<Transaction> transactions) {
+        TransactionStatus[] statuses = new TransactionStatus[transactions.size()];
+        Throwable[] errors = new Throwable[transactions.size()];
+        Map<IssuerRoute, List<Integer>> byIssuer = groupByIssuer(transactions, errors);
+        for (Map.Entry<IssuerRoute, List<Integer>> group : byIssuer.entrySet()) {
+            List<Transaction> batch = select(transactions, group.getValue());
+            try {
+                List<TransactionStatus> batchStatuses = callSync(group.getKey(), proxy -> proxy.executeTransactions(batch));
+                fill(statuses, group.getValue(), batchStatuses);
+            } catch (RuntimeException e) {
+                fail(errors, group.getValue(), e);
+            }
+        }
+        return collect(statuses, errors);
+    }
+    
+    @Override
+    public List<Transaction> getMiniStatement(Account account) {
+        return callSync(routeAccount(account), proxy -> proxy.getMiniStatement(account));
+    }
+    
+    @Override
+    public boolean changePin(CardDetails cardDetails, String oldPin, String newPin) {
+        return callSync(routeCard(cardDetails), proxy -> proxy.changePin(cardDetails, oldPin, newPin));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        return callAsync(() -> routeCard(cardDetails), proxy -> proxy.authenticateAsync(cardDetails, pin));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        return callAsync(() -> routeAccount(account), proxy -> proxy.getAccountBalanceAsync(account));
+    }
+    
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        return callAsync(() -> routeAccount(transaction.getSourceAccount()), 
+            proxy -> proxy.executeTransactionAsync(transaction));
+    }
+    
+    // Fails with BatchPartiallyFailedException, holding the statuses that did settle, if any issuer failed
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        TransactionStatus[] statuses = new TransactionStatus[transactions.size()];
+        Throwable[] errors = new Throwable[transactions.size()];
+        Map<IssuerRoute, List<Integer>> byIssuer = groupByIssuer(transactions, errors);
+        
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (Map.Entry<IssuerRoute, List<Integer>> group : byIssuer.entrySet()) {
+            List<Transaction> batch = select(transactions, group.getValue());
+            CompletableFuture<List<TransactionStatus>> call = 
+                callAsync(group::getKey, proxy -> proxy.executeTransactionsAsync(batch));
+            calls.add(call.handle((batchStatuses, error) -> {
+                if (error == null) {
+                    try {
+                        fill(statuses, group.getValue(), batchStatuses);
+                        return null;
+                    } catch (RuntimeException e) {
+                        error = e;
+                    }
+                }
+                fail(errors, group.getValue(), error);
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> collect(statuses, errors));
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        return callAsync(() -> routeAccount(account), proxy -> proxy.getMiniStatementAsync(account));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        return callAsync(() -> routeCard(cardDetails), proxy -> proxy.changePinAsync(cardDetails, oldPin, newPin));
+    }
+    
+    private IssuerRoute routeCard(CardDetails cardDetails) {
+        String bankId = binTable.lookup(cardDetails.getCardNumber());
+        IssuerRoute route = bankId != null ? issuers.get(bankId) : null;
+        if (route == null) {
+            throw new IllegalArgumentException("No issuer for card BIN " + bin(cardDetails.getCardNumber()));
+        }
+        return route;
+    }
+    
+    private IssuerRoute routeAccount(Account account) {
+        String bankId = account.getBank() != null ? account.getBank().getBankId() : null;
+        IssuerRoute route = bankId != null ? issuers.get(bankId) : null;
+        if (route == null) {
+            throw new IllegalArgumentException("No issuer for bank " + bankId);
+        }
+        return route;
+    }
+    
+    // Transactions with no known issuer get their routing error and are left out of every group
+    private Map<IssuerRoute, List<Integer>> groupByIssuer(List<Transaction> transactions, Throwable[] errors) {
+        Map<IssuerRoute, List<Integer>> byIssuer = new LinkedHashMap<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            try {
+                IssuerRoute route = routeAccount(transactions.get(i).getSourceAccount());
+                byIssuer.computeIfAbsent(route, r -> new ArrayList<>()).add(i);
+            } catch (RuntimeException e) {
+                errors[i] = e;
+            }
+        }
+        return byIssuer;
+    }
+    
+    private static void fill(TransactionStatus[] statuses, List<Integer> indexes, List<TransactionStatus> batchStatuses) {
+        if (batchStatuses.size() != indexes.size()) {
+            throw new IllegalStateException("Bank returned " + batchStatuses.size() + 
+                " statuses for " + indexes.size() + " transactions");
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            statuses[indexes.get(i)] = batchStatuses.get(i);
+        }
+    }
+    
+    private static void fail(Throwable[] errors, List<Integer> indexes, Throwable error) {
+        for (int index : indexes) {
+            errors[index] = error;
+        }
+    }
+    
+    private static List<TransactionStatus> collect(TransactionStatus[] statuses, Throwable[] errors) {
+        for (Throwable error : errors) {
+            if (error != null) {
+                throw new BatchPartiallyFailedException(Arrays.asList(statuses), Arrays.asList(errors));
+            }
+        }
+        return Arrays.asList(statuses);
+    }
+    
+    private static List<Transaction> select(List<Transaction> transactions, List<Integer> indexes) {
+        List<Transaction> selected = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            selected.add(transactions.get(index));
+        }
+        return selected;
+    }
+    
+    private static <T> T callSync(IssuerRoute route, Function<BankServiceProxy, T> call) {
+        route.enter();
+        try {
+            return call.apply(route.proxy);
+        } finally {
+            route.inFlight.release();
+        }
+    }
+    
+    // Routing and limit errors are returned in the future, like errors from the bank
+    private static <T> CompletableFuture<T> callAsync(Supplier<IssuerRoute> router, 
+                                                      Function<BankServiceProxy, CompletableFuture<T>> call) {
+        IssuerRoute route;
+        try {
+            route = router.get();
+            route.enter();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        try {
+            return call.apply(route.proxy).whenComplete((result, error) -> route.inFlight.release());
+        } catch (RuntimeException e) {
+            route.inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static String bin(String cardNumber) {
+        return cardNumber == null ? "null" : cardNumber.substring(0, Math.min(6, cardNumber.length()));
+    }
+    
+    private static class IssuerRoute {
+        private final String bankId;
+        private final BankServiceProxy proxy;
+        private final Semaphore inFlight;
+        private final LongAdder requests;
+        private final LongAdder rejected;
+        
+        IssuerRoute(String bankId, BankServiceProxy proxy, int maxRequestsInFlight) {
+            this.bankId = bankId;
+            this.proxy = proxy;
+            this.inFlight = new Semaphore(maxRequestsInFlight);
+            this.requests = new LongAdder();
+            this.rejected = new LongAdder();
+        }
+        
+        // Fails fast rather than queueing behind an issuer that is already at its limit
+        void enter() {
+            requests.increment();
+            if (!inFlight.tryAcquire()) {
+                rejected.increment();
+                throw new BankUnavailableException("Too many requests in flight to " + bankId);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Lets concurrent identical requests share one backend call: the first caller for a key makes the call,
+// and callers arriving while it is in flight get its result instead of making their own.
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight;
+    private final LongAdder calls;
+    private final LongAdder coalesced;
+    
+    public SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.calls = new LongAdder();
+        this.coalesced = new LongAdder();
+    }
+    
+    // Blocking form; the first caller makes the call on its own thread
+    public V run(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        
+        calls.increment();
+        try {
+            V result = call.get();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too, or every later caller for the key would join a flight that never lands
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    // Non-blocking form; each caller gets its own copy, so one caller cancelling does not affect the others
+    public CompletableFuture<V> runAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy();
+        }
+        
+        calls.increment();
+        try {
+            call.get().whenComplete((result, error) -> {
+                // Removed first, so anyone arriving after the answer asks again
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e; // Joined callers see it in their futures; this caller gets it directly
+            }
+        }
+        return flight.copy();
+    }
+    
+    // Later callers start a fresh call instead of joining one whose answer may be out of date
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+    
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+    
+    public long getCallCount() {
+        return calls.sum();
+    }
+    
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+    
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package services;
+
+import interfaces.AsyncBankService;
+import interfaces.BankService;
+import models.*;
+import enums.TransactionStatus;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// Lets states use the async API with a bank service that only has blocking calls; runs them on the caller
+public class SynchronousBankServiceAdapter implements AsyncBankService {
+    private final BankService bankService;
+    
+    public SynchronousBankServiceAdapter(BankService bankService) {
+        this.bankService = bankService;
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> authenticateAsync(CardDetails cardDetails, String pin) {
+        return call(() -> bankService.authenticate(cardDetails, pin));
+    }
+    
+    @Override
+    public CompletableFuture<Double> getAccountBalanceAsync(Account account) {
+        return call(() -> bankService.getAccountBalance(account));
+    }
+    
+    @Override
+    public CompletableFuture<TransactionStatus> executeTransactionAsync(Transaction transaction) {
+        return call(() -> bankService.executeTransaction(transaction));
+    }
+    
+    @Override
+    public CompletableFuture<List<TransactionStatus>> executeTransactionsAsync(List<Transaction> transactions) {
+        return call(() -> bankService.executeTransactions(transactions));
+    }
+    
+    @Override
+    public CompletableFuture<List<Transaction>> getMiniStatementAsync(Account account) {
+        return call(() -> bankService.getMiniStatement(account));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> changePinAsync(CardDetails cardDetails, String oldPin, String newPin) {
+        return call(() -> bankService.changePin(cardDetails, oldPin, newPin));
+    }
+    
+    private static <T> CompletableFuture<T> call(Supplier<T> blockingCall) {
+        try {
+            return CompletableFuture.completedFuture(blockingCall.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package services;
+
+import java.util.concurrent.CompletionException;
+
+// The bank received a transaction but did not answer in time: it may or may not have settled. Callers
+// must not treat this as a decline; the customer gets a reference and the bank's record decides.
+public class TransactionOutcomeUnknownException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    public TransactionOutcomeUnknownException(String message) {
+        super(message);
+    }
+    
+    // Callbacks usually see the exception wrapped by the futures it passed through
+    public static boolean isCause(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof TransactionOutcomeUnknownException;
+    }
+}
\ No newline at end of file
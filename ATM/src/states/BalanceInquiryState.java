@@ -21,28 +21,21 @@ public class BalanceInquiryState implements ATMState {
     public void performTransaction(ATM atm, Map<String, Object> transactionDetails) {
         System.out.println("Performing balance inquiry");
         
-        try {
-            // Get balance from bank service
-            double balance = atm.getBankService().getAccountBalance(userAccount);
+        // Get balance from bank service
+        atm.awaitBank(atm.getAsyncBankService().getAccountBalanceAsync(userAccount), (balance, error) -> {
+            if (error == null) {
+                // Display balance
+                atm.getScreen().displayBalance(balance);
             
-            // Display balance
-            atm.getScreen().displayBalance(balance);
-            
-            System.out.println("Balance inquiry completed successfully");
-            
-        } catch (Exception e) {
-            atm.getScreen().displayTransactionFailed("Unable to retrieve balance");
-            System.out.println("Balance inquiry failed: " + e.getMessage());
-        }
+                System.out.println("Balance inquiry completed successfully");
+            } else {
+                atm.getScreen().displayTransactionFailed("Unable to retrieve balance");
+                System.out.println("Balance inquiry failed: " + error.getMessage());
+            }
         
-        // Return to transaction selection after a brief pause (simulated)
-        try {
-            Thread.sleep(3000); // 3 second pause to let user read balance
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        returnToTransactionSelection(atm);
+            // Return to transaction selection after a 3 second pause to let user read balance
+            atm.pauseThen(3000, () -> returnToTransactionSelection(atm));
+        });
     }
     
     @Override
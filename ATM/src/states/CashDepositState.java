@@ -3,6 +3,7 @@ package states;
 import interfaces.ATMState;
 import models.*;
 import core.ATM;
+import services.TransactionOutcomeUnknownException;
 import enums.TransactionStatus;
 import enums.TransactionType;
 import java.util.Map;
@@ -54,34 +55,59 @@ public class CashDepositState implements ATMState {
             );
             
             // Execute transaction through bank service
-            TransactionStatus status = atm.getBankService().executeTransaction(transaction);
-            transaction.setStatus(status);
+            atm.awaitBank(atm.getAsyncBankService().executeTransactionAsync(transaction), 
+                (status, error) -> completeDeposit(atm, transaction, status, error));
+        
+        } catch (Exception e) {
+            failDeposit(atm, e);
+        }
+    }
+    
+    private void completeDeposit(ATM atm, Transaction transaction, TransactionStatus status, Throwable error) {
+        if (TransactionOutcomeUnknownException.isCause(error)) {
+            // The cash is already in the machine and the bank may have credited it, so this is PENDING, not failed
+            System.out.println("Cash deposit outcome unknown: " + error.getMessage());
+            transaction.setStatus(TransactionStatus.PENDING);
+            atm.getScreen().displayMessage("Deposit pending: the bank did not confirm it; keep the receipt as your reference");
+            atm.getPrinter().printReceipt(transaction); // Reference for the customer's claim
+            atm.getDepositSlot().closeSlot();
+            atm.getDepositSlot().resetDeposit();
+            returnToTransactionSelection(atm);
+            return;
+        }
+        if (error != null) {
+            failDeposit(atm, error);
+            return;
+        }
+        transaction.setStatus(status);
             
-            if (status == TransactionStatus.SUCCESS) {
-                atm.getScreen().displayMessage("Cash deposited successfully: $" + 
-                                             String.format("%.2f", depositAmount));
+        if (status == TransactionStatus.SUCCESS) {
+            atm.getScreen().displayMessage("Cash deposited successfully: $" + 
+                                         String.format("%.2f", transaction.getAmount()));
                 
-                // Print receipt
-                atm.getPrinter().printReceipt(transaction);
+            // Print receipt
+            atm.getPrinter().printReceipt(transaction);
                 
-                System.out.println("Cash deposit completed successfully");
-            } else {
-                atm.getScreen().displayTransactionFailed("Deposit transaction failed");
-                System.out.println("Cash deposit failed");
-            }
+            System.out.println("Cash deposit completed successfully");
+        } else {
+            atm.getScreen().displayTransactionFailed("Deposit transaction failed");
+            System.out.println("Cash deposit failed");
+        }
             
-            // Close deposit slot and reset
-            atm.getDepositSlot().closeSlot();
-            atm.getDepositSlot().resetDeposit();
+        // Close deposit slot and reset
+        atm.getDepositSlot().closeSlot();
+        atm.getDepositSlot().resetDeposit();
             
-        } catch (Exception e) {
-            atm.getScreen().displayTransactionFailed("Deposit processing error");
-            System.out.println("Cash deposit failed: " + e.getMessage());
+        returnToTransactionSelection(atm);
+    }
+    
+    private void failDeposit(ATM atm, Throwable error) {
+        atm.getScreen().displayTransactionFailed("Deposit processing error");
+        System.out.println("Cash deposit failed: " + error.getMessage());
             
-            // Ensure slot is closed on error
-            if (atm.getDepositSlot().isSlotOpen()) {
-                atm.getDepositSlot().closeSlot();
-            }
+        // Ensure slot is closed on error
+        if (atm.getDepositSlot().isSlotOpen()) {
+            atm.getDepositSlot().closeSlot();
         }
         
         returnToTransactionSelection(atm);
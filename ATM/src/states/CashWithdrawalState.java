@@ -3,6 +3,7 @@ package states;
 import interfaces.ATMState;
 import models.*;
 import core.ATM;
+import services.TransactionOutcomeUnknownException;
 import enums.TransactionStatus;
 import enums.TransactionType;
 import java.util.Map;
@@ -46,12 +47,31 @@ public class CashWithdrawalState implements ATMState {
         );
         
         // Execute transaction through bank service
-        TransactionStatus status = atm.getBankService().executeTransaction(transaction);
+        atm.awaitBank(atm.getAsyncBankService().executeTransactionAsync(transaction), 
+            (status, error) -> completeWithdrawal(atm, transaction, status, error));
+    }
+    
+    private void completeWithdrawal(ATM atm, Transaction transaction, TransactionStatus status, Throwable error) {
+        if (TransactionOutcomeUnknownException.isCause(error)) {
+            // The bank may still debit the account, so the transaction is left PENDING rather than declined
+            System.out.println("Cash withdrawal outcome unknown: " + error.getMessage());
+            transaction.setStatus(TransactionStatus.PENDING);
+            atm.getScreen().displayTransactionFailed(
+                "Withdrawal pending: the bank did not confirm it and no cash was dispensed; keep the receipt as your reference");
+            atm.getPrinter().printReceipt(transaction); // Reference for the customer's claim
+            returnToTransactionSelection(atm);
+            return;
+        }
+        if (error != null) {
+            // Without an answer from the bank no cash is dispensed
+            System.out.println("Cash withdrawal failed: " + error.getMessage());
+            status = TransactionStatus.FAILURE;
+        }
         transaction.setStatus(status);
         
         if (status == TransactionStatus.SUCCESS) {
             // Dispense cash
-            atm.getCashDispenser().dispenseCash((int) amount);
+            atm.getCashDispenser().dispenseCash((int) transaction.getAmount());
             atm.getScreen().displayTransactionSuccess();
             
             // Print receipt
@@ -20,8 +20,20 @@ public class HasCardState implements ATMState {
         
         pinAttempts++;
         
-        // Use bank service to authenticate
-        boolean isAuthenticated = atm.getBankService().authenticate(cardDetails, pin);
+        // Use bank service to authenticate; the ATM takes no other input until it answers
+        atm.awaitBank(atm.getAsyncBankService().authenticateAsync(cardDetails, pin), 
+            (isAuthenticated, error) -> onAuthenticated(atm, isAuthenticated, error));
+    }
+    
+    private void onAuthenticated(ATM atm, Boolean isAuthenticated, Throwable error) {
+        if (error != null) {
+            // Not the customer's fault, so it does not use up an attempt
+            pinAttempts--;
+            System.out.println("PIN authentication could not complete: " + error.getMessage());
+            atm.getScreen().displayMessage("Unable to reach your bank. Please try again.");
+            atm.getScreen().displayPinPrompt();
+            return;
+        }
         
         if (isAuthenticated) {
             System.out.println("PIN authentication successful");
@@ -22,29 +22,25 @@ public class MiniStatementState implements ATMState {
     public void performTransaction(ATM atm, Map<String, Object> transactionDetails) {
         System.out.println("Performing mini statement");
         
-        try {
-            // Get mini statement from bank service
-            List<Transaction> recentTransactions = atm.getBankService().getMiniStatement(userAccount);
+        // Get mini statement from bank service
+        atm.awaitBank(atm.getAsyncBankService().getMiniStatementAsync(userAccount), 
+            (recentTransactions, error) -> printStatement(atm, recentTransactions, error));
+    }
             
+    private void printStatement(ATM atm, List<Transaction> recentTransactions, Throwable error) {
+        if (error == null) {
             // Print mini statement
             atm.getPrinter().printMiniStatement(recentTransactions, userAccount.getAccountNumber());
             
             atm.getScreen().displayMessage("Mini statement printed successfully");
             System.out.println("Mini statement completed successfully");
-            
-        } catch (Exception e) {
+        } else {
             atm.getScreen().displayTransactionFailed("Unable to retrieve mini statement");
-            System.out.println("Mini statement failed: " + e.getMessage());
+            System.out.println("Mini statement failed: " + error.getMessage());
         }
         
         // Return to transaction selection after a brief pause
-        try {
-            Thread.sleep(2000); // 2 second pause
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        returnToTransactionSelection(atm);
+        atm.pauseThen(2000, () -> returnToTransactionSelection(atm));
     }
     
     @Override
@@ -27,11 +27,12 @@ public class PinChangeState implements ATMState {
         String newPin = transactionDetails.containsKey("newPin") ? 
                        (String) transactionDetails.get("newPin") : "5678"; // Default for demo
         
-        try {
-            // Change PIN through bank service
-            boolean success = atm.getBankService().changePin(cardDetails, oldPin, newPin);
-            
-            if (success) {
+        // Change PIN through bank service
+        atm.awaitBank(atm.getAsyncBankService().changePinAsync(cardDetails, oldPin, newPin), (success, error) -> {
+            if (error != null) {
+                atm.getScreen().displayTransactionFailed("Unable to change PIN at this time");
+                System.out.println("PIN change failed: " + error.getMessage());
+            } else if (success) {
                 atm.getScreen().displayMessage("PIN changed successfully");
                 System.out.println("PIN change completed successfully");
             } else {
@@ -39,19 +40,9 @@ public class PinChangeState implements ATMState {
                 System.out.println("PIN change failed");
             }
             
-        } catch (Exception e) {
-            atm.getScreen().displayTransactionFailed("Unable to change PIN at this time");
-            System.out.println("PIN change failed: " + e.getMessage());
-        }
-        
-        // Return to transaction selection after a brief pause
-        try {
-            Thread.sleep(2000); // 2 second pause
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        returnToTransactionSelection(atm);
+            // Return to transaction selection after a brief pause
+            atm.pauseThen(2000, () -> returnToTransactionSelection(atm));
+        });
     }
     
     @Override
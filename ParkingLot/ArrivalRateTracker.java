@@ -0,0 +1,84 @@
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Smoothed arrivals per hour for demand pricing. Gates only bump a striped counter;
+// a background tick folds it into an exponentially weighted rate that readers get with one volatile read.
+public class ArrivalRateTracker implements ISpotStateListener {
+    private static final long TICK_MILLIS = 1000;
+
+    private final ParkingLot parkingLot;
+    private final long halfLifeMillis;
+    private final LongAdder arrivals;
+    private volatile double arrivalsPerHour;
+    private long lastTickMillis;
+    private ScheduledExecutorService ticker;
+
+    public ArrivalRateTracker(ParkingLot parkingLot, long halfLifeMillis) {
+        if (halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.parkingLot = parkingLot;
+        this.halfLifeMillis = halfLifeMillis;
+        this.arrivals = new LongAdder();
+        this.lastTickMillis = -1;
+        parkingLot.addSpotStateListener(this);
+    }
+
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arrival-rate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()), 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        parkingLot.removeSpotStateListener(this);
+    }
+
+    // Folds arrivals since the last tick into the rate; the weight of the old rate halves every half-life
+    public synchronized void tick(long nowMillis) {
+        long count = arrivals.sumThenReset();
+        if (lastTickMillis < 0) {
+            lastTickMillis = nowMillis;
+            return;
+        }
+        long elapsed = nowMillis - lastTickMillis;
+        if (elapsed <= 0) {
+            arrivals.add(count); // Keep them for the next tick
+            return;
+        }
+
+        double instantRate = count * 3_600_000.0 / elapsed;
+        double decay = Math.pow(0.5, (double) elapsed / halfLifeMillis);
+        arrivalsPerHour = arrivalsPerHour * decay + instantRate * (1 - decay);
+        lastTickMillis = nowMillis;
+    }
+
+    public double getArrivalsPerHour() {
+        return arrivalsPerHour;
+    }
+
+    @Override
+    public void onSpotOccupied(ParkingSpot spot) {
+        arrivals.increment();
+    }
+
+    @Override
+    public void onSpotVacated(ParkingSpot spot) {
+    }
+
+    @Override
+    public void onSpotUpdated(ParkingSpot spot) {
+    }
+}
\ No newline at end of file
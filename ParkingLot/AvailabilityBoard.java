@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+// Free counts for the whole lot (floor x SpotType). Each floor publishes its own seqlocked row, so gates
+// on different floors never wait on each other. A read copies every row and then checks that no row
+// changed since it was copied, so the matrix it returns existed at one instant across all floors; the
+// version is the lot-wide number of writes at that instant. A reader that keeps losing to writers
+// briefly pauses them lot-wide instead of retrying forever.
+public class AvailabilityBoard {
+    private static final int TYPES = SpotType.values().length;
+    private static final int OPTIMISTIC_ATTEMPTS = 8;
+
+    private volatile FloorAvailability[] rows;
+    private volatile boolean pausingWriters; // Set only while a reader holds pauseLock
+    private final Object pauseLock;
+
+    public AvailabilityBoard() {
+        this.rows = new FloorAvailability[0];
+        this.pauseLock = new Object();
+    }
+
+    // Registers a floor's row and returns its index; floors are added rarely, so the array is copied
+    synchronized int addFloor(FloorAvailability row) {
+        row.attach(this);
+        FloorAvailability[] current = rows;
+        FloorAvailability[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = row;
+        rows = grown;
+        return current.length;
+    }
+
+    // Copies the rows into the caller's snapshot; allocates only when the lot has grown
+    public void read(AvailabilitySnapshot into) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            if (tryRead(into)) {
+                return;
+            }
+        }
+        synchronized (pauseLock) {
+            pausingWriters = true;
+            try {
+                // Writes already under way finish; no new one starts, so this ends after a few passes
+                while (!tryRead(into)) {
+                    Thread.onSpinWait();
+                }
+            } finally {
+                pausingWriters = false;
+            }
+        }
+    }
+
+    // Lot-wide number of writes at one instant; changes whenever any count changes
+    public long getVersion() {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long version = tryReadVersion();
+            if (version >= 0) {
+                return version;
+            }
+        }
+        synchronized (pauseLock) {
+            pausingWriters = true;
+            try {
+                long version;
+                while ((version = tryReadVersion()) < 0) {
+                    Thread.onSpinWait();
+                }
+                return version;
+            } finally {
+                pausingWriters = false;
+            }
+        }
+    }
+
+    boolean isPausingWriters() {
+        return pausingWriters;
+    }
+
+    private boolean tryRead(AvailabilitySnapshot into) {
+        FloorAvailability[] current = rows;
+        into.ensureCapacity(current.length);
+        for (int row = 0; row < current.length; row++) {
+            long stamp = current[row].copy(into.counts, row * TYPES);
+            if ((stamp & 1) != 0) {
+                return false;
+            }
+            into.stamps[row] = stamp;
+            into.floorNos[row] = current[row].getFloorNo();
+        }
+        long version = 0;
+        for (int row = 0; row < current.length; row++) {
+            if (!current[row].isUnchangedSince(into.stamps[row])) {
+                return false;
+            }
+            version += into.stamps[row] >>> 1;
+        }
+        into.floorCount = current.length;
+        into.version = version;
+        return true;
+    }
+
+    // Row stamps only grow while even, so equal sums over the same rows mean no row changed in between
+    private long tryReadVersion() {
+        FloorAvailability[] current = rows;
+        long first = sumStamps(current);
+        return first >= 0 && sumStamps(current) == first ? first >>> 1 : -1;
+    }
+
+    // Sum of all row stamps, or -1 if a write is in progress on some row
+    private static long sumStamps(FloorAvailability[] current) {
+        long sum = 0;
+        for (FloorAvailability row : current) {
+            long stamp = row.getStamp();
+            if ((stamp & 1) != 0) {
+                return -1;
+            }
+            sum += stamp;
+        }
+        return sum;
+    }
+}
\ No newline at end of file
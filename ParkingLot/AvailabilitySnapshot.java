@@ -0,0 +1,56 @@
+// Reusable holder for a consistent availability view; refill it with ParkingLot.readAvailability
+public class AvailabilitySnapshot {
+    private static final int TYPES = SpotType.values().length;
+
+    int[] counts;
+    int[] floorNos;
+    long[] stamps; // Each row's seqlock stamp when it was copied
+    int floorCount;
+    long version;
+
+    public AvailabilitySnapshot() {
+        this.counts = new int[0];
+        this.floorNos = new int[0];
+        this.stamps = new long[0];
+    }
+
+    public int getFloorCount() {
+        return floorCount;
+    }
+
+    public int getFloorNo(int floorIndex) {
+        return floorNos[floorIndex];
+    }
+
+    public int getFreeCount(int floorIndex, SpotType spotType) {
+        return counts[floorIndex * TYPES + spotType.ordinal()];
+    }
+
+    public int getTotalFreeCount(SpotType spotType) {
+        int total = 0;
+        for (int floorIndex = 0; floorIndex < floorCount; floorIndex++) {
+            total += counts[floorIndex * TYPES + spotType.ordinal()];
+        }
+        return total;
+    }
+
+    public int getTotalFreeCount() {
+        int total = 0;
+        for (int i = 0; i < floorCount * TYPES; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    void ensureCapacity(int floors) {
+        if (floorNos.length < floors) {
+            counts = new int[floors * TYPES];
+            floorNos = new int[floors];
+            stamps = new long[floors];
+        }
+    }
+}
\ No newline at end of file
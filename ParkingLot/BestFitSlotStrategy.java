@@ -0,0 +1,82 @@
+// Gives each vehicle the smallest compatible spot and keeps planner-protected LARGE spots for buses
+public class BestFitSlotStrategy implements ISlotAllocationStrategy {
+    private volatile CompactionPlanner planner;
+
+    public BestFitSlotStrategy() {
+        this(null);
+    }
+
+    public BestFitSlotStrategy(CompactionPlanner planner) {
+        this.planner = planner;
+    }
+
+    public void setPlanner(CompactionPlanner planner) {
+        this.planner = planner;
+    }
+
+    @Override
+    public ParkingSpot findSpot(ParkingLot parkingLot, Vehicle vehicle) {
+        SpotSearchEvent event = new SpotSearchEvent();
+        event.begin();
+
+        CompactionPlanner currentPlanner = planner;
+        boolean mayUseProtected = vehicle.getType() == VehicleType.BUS;
+        int bestRank = Integer.MAX_VALUE;
+        int perfectRank = perfectRank(vehicle);
+        ParkingSpot best = null;
+        int examined = 0;
+
+        search:
+        for (ParkingFloor floor : parkingLot.getFloors()) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                examined++;
+                if (!spot.isAvailable() || spot.getZone() != null || !spot.isCompatibleWith(vehicle)) {
+                    continue;
+                }
+
+                // SpotType ordinals run from smallest to largest, with ELECTRIC kept for charging
+                int rank = spot.getSpotType().ordinal();
+                if (!mayUseProtected && currentPlanner != null && currentPlanner.isProtected(spot)) {
+                    rank += SpotType.values().length;
+                }
+                if (rank < bestRank) {
+                    bestRank = rank;
+                    best = spot;
+                    if (rank == perfectRank) {
+                        break search;
+                    }
+                }
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.strategy = getClass().getSimpleName();
+            event.vehicleType = vehicle.getType().name();
+            event.spotsExamined = examined;
+            event.found = best != null;
+            if (best != null) {
+                event.floorNo = best.getFloor() != null ? best.getFloor().getFloorNo() : -1;
+                event.spotType = best.getSpotType().name();
+            }
+            event.commit();
+        }
+        return best;
+    }
+
+    @Override
+    public boolean allowsInBatch(ParkingSpot spot, Vehicle vehicle) {
+        CompactionPlanner currentPlanner = planner;
+        return vehicle.getType() == VehicleType.BUS || currentPlanner == null || !currentPlanner.isProtected(spot);
+    }
+
+    private int perfectRank(Vehicle vehicle) {
+        if (vehicle instanceof IElectricVehicle && ((IElectricVehicle) vehicle).wantsCharging()) {
+            return SpotType.ELECTRIC.ordinal();
+        }
+        int smallest = Integer.MAX_VALUE;
+        for (SpotType spotType : vehicle.getType().getCompatibleSpotTypes()) {
+            smallest = Math.min(smallest, spotType.ordinal());
+        }
+        return smallest;
+    }
+}
\ No newline at end of file
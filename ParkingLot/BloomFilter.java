@@ -0,0 +1,54 @@
+// Fixed-size Bloom filter over 64-bit keys; never gives a false negative
+public class BloomFilter {
+    private final long[] bits;
+    private final long mask;
+    private final int hashCount;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        double optimalBits = -entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bitCount = Long.highestOneBit(Math.max(64L, (long) optimalBits - 1)) << 1; // Power of two for masking
+        this.bits = new long[(int) (bitCount >>> 6)];
+        this.mask = bitCount - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    public void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & mask;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getBitCount() {
+        return mask + 1;
+    }
+
+    // MurmurHash3 finalizer
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Compares entries/sec for event-style bursts parked one by one through the allocation strategy
+// against EntryGate.generateTickets. Each burst starts from an empty lot.
+//
+// Usage: java BurstEntryBenchmark [burstSize] [bursts]
+public class BurstEntryBenchmark {
+    public static void main(String[] args) {
+        int burstSize = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int bursts = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        ParkingLot parkingLot = createParkingLot();
+        EntryGate entryGate = parkingLot.getEntryGates().get(0);
+        ExitGate exitGate = parkingLot.getExitGates().get(0);
+        List<List<Vehicle>> workload = createBursts(burstSize, bursts, new Random(7));
+
+        System.out.println("=== Burst Entry: " + bursts + " bursts of " + burstSize + " vehicles ===");
+        for (int round = 0; round < 3; round++) { // First rounds warm up the JIT
+            long single = 0;
+            long batched = 0;
+            int parkedSingle = 0;
+            int parkedBatched = 0;
+            for (List<Vehicle> burst : workload) {
+                List<Ticket> tickets = new ArrayList<>(burst.size());
+                long start = System.nanoTime();
+                for (Vehicle vehicle : burst) {
+                    try {
+                        tickets.add(entryGate.generateTicket(vehicle));
+                    } catch (RuntimeException e) {
+                        // Lot full for this type
+                    }
+                }
+                single += System.nanoTime() - start;
+                parkedSingle += tickets.size();
+                exitAll(exitGate, tickets);
+
+                start = System.nanoTime();
+                tickets = entryGate.generateTickets(burst);
+                batched += System.nanoTime() - start;
+                for (Ticket ticket : tickets) {
+                    parkedBatched += ticket != null ? 1 : 0;
+                }
+                exitAll(exitGate, tickets);
+            }
+            System.out.printf("Round %d: one by one %.0f entries/sec (%d parked), batched %.0f entries/sec (%d parked)%n",
+                    round + 1, parkedSingle / (single / 1e9), parkedSingle, parkedBatched / (batched / 1e9), parkedBatched);
+        }
+    }
+
+    private static void exitAll(ExitGate exitGate, List<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            if (ticket != null) {
+                exitGate.processExit(ticket);
+            }
+        }
+    }
+
+    private static List<List<Vehicle>> createBursts(int burstSize, int bursts, Random random) {
+        List<List<Vehicle>> workload = new ArrayList<>();
+        for (int b = 0; b < bursts; b++) {
+            List<Vehicle> burst = new ArrayList<>(burstSize);
+            for (int i = 0; i < burstSize; i++) {
+                String vehicleNo = "EVT-" + b + "-" + i;
+                int roll = random.nextInt(20);
+                if (roll < 14) {
+                    burst.add(new Car(vehicleNo));
+                } else if (roll < 19) {
+                    burst.add(new Bike(vehicleNo));
+                } else {
+                    burst.add(new Bus(vehicleNo));
+                }
+            }
+            workload.add(burst);
+        }
+        return workload;
+    }
+
+    private static ParkingLot createParkingLot() {
+        Map<SpotType, Integer> spotsConfig = new HashMap<>();
+        spotsConfig.put(SpotType.SMALL, 50);
+        spotsConfig.put(SpotType.MEDIUM, 150);
+        spotsConfig.put(SpotType.LARGE, 10);
+        spotsConfig.put(SpotType.ELECTRIC, 10);
+        return new ParkingLotBuilder()
+                .setFloors(10)
+                .setSpotsPerFloor(spotsConfig)
+                .setAllocationStrategy(new NearestSlotStrategy())
+                .setPricingStrategy(new HourlyPricingStrategy(10.0))
+                .build();
+    }
+}
\ No newline at end of file
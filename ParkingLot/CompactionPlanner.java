@@ -0,0 +1,152 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps large spots usable for buses: protects some free LARGE spots per floor from smaller vehicles
+// and suggests valet moves for cars sitting in LARGE spots while MEDIUM ones are free.
+// Planning runs on its own thread and only revisits floors that changed.
+public class CompactionPlanner implements ISpotStateListener {
+    private final ParkingLot parkingLot;
+    private final int largeSpotsToKeepPerFloor;
+    private final Set<ParkingFloor> dirtyFloors;
+    private final Map<ParkingFloor, FloorPlan> plans; // Planner thread only
+    private volatile Set<ParkingSpot> protectedSpots;
+    private volatile List<RelocationSuggestion> suggestions;
+    private ScheduledExecutorService planner;
+
+    public CompactionPlanner(ParkingLot parkingLot, int largeSpotsToKeepPerFloor) {
+        this.parkingLot = parkingLot;
+        this.largeSpotsToKeepPerFloor = largeSpotsToKeepPerFloor;
+        this.dirtyFloors = ConcurrentHashMap.newKeySet();
+        this.plans = new HashMap<>();
+        this.protectedSpots = Collections.emptySet();
+        this.suggestions = Collections.emptyList();
+        dirtyFloors.addAll(parkingLot.getFloors());
+        parkingLot.addSpotStateListener(this);
+    }
+
+    public synchronized void start(long periodMillis) {
+        if (planner != null) {
+            return;
+        }
+        planner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "compaction-planner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        planner.scheduleWithFixedDelay(this::planNow, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (planner != null) {
+            planner.shutdownNow();
+            planner = null;
+        }
+        parkingLot.removeSpotStateListener(this);
+    }
+
+    // Re-plans the floors that changed since the last run and publishes the combined result
+    public synchronized void planNow() {
+        for (ParkingFloor floor : parkingLot.getFloors()) {
+            if (!plans.containsKey(floor)) {
+                dirtyFloors.add(floor);
+            }
+        }
+        if (dirtyFloors.isEmpty()) {
+            return;
+        }
+
+        for (ParkingFloor floor : new ArrayList<>(dirtyFloors)) {
+            dirtyFloors.remove(floor);
+            plans.put(floor, planFloor(floor));
+        }
+
+        Set<ParkingSpot> allProtected = new HashSet<>();
+        List<RelocationSuggestion> allSuggestions = new ArrayList<>();
+        for (FloorPlan plan : plans.values()) {
+            allProtected.addAll(plan.protectedSpots);
+            allSuggestions.addAll(plan.suggestions);
+        }
+        this.protectedSpots = Collections.unmodifiableSet(allProtected);
+        this.suggestions = Collections.unmodifiableList(allSuggestions);
+    }
+
+    public boolean isProtected(ParkingSpot spot) {
+        return protectedSpots.contains(spot);
+    }
+
+    public List<RelocationSuggestion> getRelocationSuggestions() {
+        return suggestions;
+    }
+
+    @Override
+    public void onSpotOccupied(ParkingSpot spot) {
+        markDirty(spot);
+    }
+
+    @Override
+    public void onSpotVacated(ParkingSpot spot) {
+        markDirty(spot);
+    }
+
+    @Override
+    public void onSpotUpdated(ParkingSpot spot) {
+        markDirty(spot);
+    }
+
+    private void markDirty(ParkingSpot spot) {
+        ParkingFloor floor = spot.getFloor();
+        if (floor != null) {
+            dirtyFloors.add(floor);
+        }
+    }
+
+    private FloorPlan planFloor(ParkingFloor floor) {
+        // Work from a copy so gates keep moving while the floor is analyzed
+        List<ParkingSpot> freeLarge = new ArrayList<>();
+        List<ParkingSpot> freeMedium = new ArrayList<>();
+        List<ParkingSpot> misplaced = new ArrayList<>();
+        Map<ParkingSpot, Vehicle> occupants = new HashMap<>();
+        for (ParkingSpot spot : floor.getSpots()) {
+            if (spot.getZone() != null) {
+                continue; // Tenant bays are neither kept for public buses nor relocation targets
+            }
+            Vehicle vehicle = spot.getCurrentVehicle();
+            if (spot.getSpotType() == SpotType.LARGE) {
+                if (spot.isAvailable()) {
+                    freeLarge.add(spot);
+                } else if (vehicle != null && vehicle.getType() != VehicleType.BUS) {
+                    misplaced.add(spot);
+                    occupants.put(spot, vehicle);
+                }
+            } else if (spot.getSpotType() == SpotType.MEDIUM && spot.isAvailable()) {
+                freeMedium.add(spot);
+            }
+        }
+
+        FloorPlan plan = new FloorPlan();
+        int keep = Math.min(largeSpotsToKeepPerFloor, freeLarge.size());
+        plan.protectedSpots.addAll(freeLarge.subList(0, keep));
+
+        // Only suggest moves while the floor is short of large spots for buses
+        int shortfall = largeSpotsToKeepPerFloor - freeLarge.size();
+        for (int i = 0; i < misplaced.size() && i < freeMedium.size() && i < shortfall; i++) {
+            ParkingSpot from = misplaced.get(i);
+            plan.suggestions.add(new RelocationSuggestion(occupants.get(from), from, freeMedium.get(i)));
+        }
+        return plan;
+    }
+
+    private static class FloorPlan {
+        private final List<ParkingSpot> protectedSpots = new ArrayList<>();
+        private final List<RelocationSuggestion> suggestions = new ArrayList<>();
+    }
+}
\ No newline at end of file
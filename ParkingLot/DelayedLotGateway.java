@@ -0,0 +1,47 @@
+// Loopback stand-in for a lot behind a network link: adds a round-trip delay to every call
+public class DelayedLotGateway implements ILotGateway {
+    private final ILotGateway delegate;
+    private final long roundTripMillis;
+
+    public DelayedLotGateway(ILotGateway delegate, long roundTripMillis) {
+        this.delegate = delegate;
+        this.roundTripMillis = roundTripMillis;
+    }
+
+    @Override
+    public String getLotId() {
+        return delegate.getLotId();
+    }
+
+    @Override
+    public long getVersion() {
+        simulateRoundTrip();
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void readFreeCounts(int[] freeCountsBySpotType) {
+        simulateRoundTrip();
+        delegate.readFreeCounts(freeCountsBySpotType);
+    }
+
+    // Change notices are one-way pushes from the lot, so no round trip is added
+    @Override
+    public void setAvailabilityListener(Runnable listener) {
+        delegate.setAvailabilityListener(listener);
+    }
+
+    @Override
+    public SpotReservation reserve(Vehicle vehicle) {
+        simulateRoundTrip();
+        return delegate.reserve(vehicle);
+    }
+
+    private void simulateRoundTrip() {
+        try {
+            Thread.sleep(roundTripMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
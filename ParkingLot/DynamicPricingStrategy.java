@@ -0,0 +1,43 @@
+// Hourly pricing whose rate follows demand: the fuller the spot's pool (on its floor or lot-wide)
+// and the faster cars are arriving, the higher the rate. The rate is quoted once at entry from
+// maintained counters and locked into the ticket, so exit pricing never scans spots. Billing itself
+// is HourlyPricingStrategy's at the locked rate.
+public class DynamicPricingStrategy implements IPricingStrategy, IRateQuoteStrategy {
+    private final ParkingLot parkingLot;
+    private final ArrivalRateTracker arrivalRate;
+    private final SurgeCurve surgeCurve;
+    private final double baseHourlyRate;
+    private final HourlyPricingStrategy billing;
+
+    public DynamicPricingStrategy(ParkingLot parkingLot, ArrivalRateTracker arrivalRate,
+                                  SurgeCurve surgeCurve, double baseHourlyRate) {
+        this.parkingLot = parkingLot;
+        this.arrivalRate = arrivalRate;
+        this.surgeCurve = surgeCurve;
+        this.baseHourlyRate = baseHourlyRate;
+        this.billing = new HourlyPricingStrategy(baseHourlyRate);
+    }
+
+    @Override
+    public double quoteHourlyRate(ParkingSpot spot) {
+        SpotType spotType = spot.getSpotType();
+        double occupancy = parkingLot.getOccupancyRatio(spotType);
+        ParkingFloor floor = spot.getFloor();
+        if (floor != null) {
+            occupancy = Math.max(occupancy, floor.getOccupancyRatio(spotType));
+        }
+        return baseHourlyRate * surgeCurve.multiplier(occupancy, arrivalRate.getArrivalsPerHour());
+    }
+
+    @Override
+    public double calculatePrice(Ticket ticket) {
+        // Tickets issued before dynamic pricing was switched on are charged at the current quote
+        Double lockedRate = ticket.getLockedHourlyRate();
+        double hourlyRate = lockedRate != null ? lockedRate : quoteHourlyRate(ticket.getSpot());
+        return billing.calculatePrice(ticket, hourlyRate);
+    }
+
+    public double getBaseHourlyRate() {
+        return baseHourlyRate;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+// Thrown when a vehicle may not enter at all, whatever spots are free
+public class EntryDeniedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public EntryDeniedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,13 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public class EntryGate {
     private final int gateId;
     private final ParkingLot parkingLot;
+    private volatile GateSpotCache spotCache;
 
     public EntryGate(int gateId, ParkingLot parkingLot) {
         this.gateId = gateId;
@@ -8,22 +15,227 @@ public class EntryGate {
     }
 
     public Ticket generateTicket(Vehicle vehicle) {
-        ParkingSpot spot = parkingLot.getAllocationStrategy().findSpot(parkingLot, vehicle);
-        
-        if (spot == null) {
-            throw new RuntimeException("No available spot found for vehicle: " + vehicle.getVehicleNo());
+        if (isBlocklisted(vehicle)) {
+            throw new EntryDeniedException("Entry denied for blocklisted vehicle: " + vehicle.getVehicleNo());
+        }
+
+        Ticket ticket = tryAllocate(vehicle);
+
+        if (ticket == null) {
+            throw new NoSpotAvailableException("No available spot found for vehicle: " + vehicle.getVehicleNo());
+        }
+
+        return ticket;
+    }
+
+    // Parks a burst of arrivals together. Vehicles are grouped by type and charging need, and each group
+    // fills free spots in one pass per compatible pool (smallest pool first), skipping floors whose
+    // counters show the pool is full. Tickets come back in input order; null where the vehicle was
+    // refused or no spot was left.
+    public List<Ticket> generateTickets(List<Vehicle> vehicles) {
+        Ticket[] tickets = new Ticket[vehicles.size()];
+        Integer[] order = new Integer[vehicles.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> batchGroup(vehicles.get(i))));
+
+        int groupStart = 0;
+        while (groupStart < order.length) {
+            int group = batchGroup(vehicles.get(order[groupStart]));
+            int groupEnd = groupStart;
+            List<Integer> admitted = new ArrayList<>();
+            while (groupEnd < order.length && batchGroup(vehicles.get(order[groupEnd])) == group) {
+                if (!isBlocklisted(vehicles.get(order[groupEnd]))) {
+                    admitted.add(order[groupEnd]);
+                }
+                groupEnd++;
+            }
+            if (!admitted.isEmpty()) {
+                allocateGroup(vehicles, admitted, tickets);
+            }
+            groupStart = groupEnd;
+        }
+        return Arrays.asList(tickets);
+    }
+
+    // Tenant vehicles park in their zone, or take one of the tenant's overflow slots in the public pool
+    public Ticket generateTicket(Vehicle vehicle, String tenantId) {
+        if (isBlocklisted(vehicle)) {
+            throw new EntryDeniedException("Entry denied for blocklisted vehicle: " + vehicle.getVehicleNo());
+        }
+        TenantZone zone = parkingLot.getTenantZone(tenantId);
+        if (zone == null) {
+            throw new UnknownTenantException("Unknown tenant: " + tenantId);
         }
 
-        boolean isUsingCharging = false;
-        
-        // Check if vehicle wants charging and spot supports it
-        if (vehicle instanceof IElectricVehicle) {
-            IElectricVehicle electricVehicle = (IElectricVehicle) vehicle;
-            isUsingCharging = electricVehicle.wantsCharging() && spot.hasChargingPoint();
+        Ticket ticket = tryAllocateInZone(vehicle, zone);
+        if (ticket != null) {
+            return ticket;
         }
 
-        spot.parkVehicle(vehicle);
-        return new Ticket(vehicle, spot, isUsingCharging);
+        if (!zone.tryAcquireOverflow()) {
+            throw new NoSpotAvailableException("Tenant " + tenantId + " is full and at its overflow quota");
+        }
+        ticket = tryAllocate(vehicle);
+        if (ticket == null) {
+            zone.releaseOverflow();
+            throw new NoSpotAvailableException("No available spot found for vehicle: " + vehicle.getVehicleNo());
+        }
+        ticket.setOverflowZone(zone);
+        return ticket;
+    }
+
+    public CompletableFuture<Ticket> requestTicket(Vehicle vehicle) {
+        return requestTicket(vehicle, 0);
+    }
+
+    // Completes immediately when a spot is free, otherwise when a matching spot is vacated
+    public CompletableFuture<Ticket> requestTicket(Vehicle vehicle, int priority) {
+        if (isBlocklisted(vehicle)) {
+            return CompletableFuture.failedFuture(
+                    new EntryDeniedException("Entry denied for blocklisted vehicle: " + vehicle.getVehicleNo()));
+        }
+
+        Ticket ticket = tryAllocate(vehicle);
+        if (ticket != null) {
+            return CompletableFuture.completedFuture(ticket);
+        }
+
+        SpotWaitlist waitlist = parkingLot.getWaitlist();
+        WaitlistRequest request = waitlist.enqueue(vehicle, priority);
+
+        // A spot may have been freed between the failed search and joining the queue
+        while (request.claim()) {
+            ticket = tryAllocate(vehicle);
+            if (ticket != null) {
+                request.getFuture().complete(ticket);
+                break;
+            }
+            waitlist.requeue(request);
+
+            // A spot vacated while the request was claimed was not offered to it; wait only once none is usable
+            if (parkingLot.getAllocationStrategy().findSpot(parkingLot, vehicle) == null) {
+                break;
+            }
+        }
+
+        return request.getFuture();
+    }
+
+    private boolean isBlocklisted(Vehicle vehicle) {
+        PermitRegistry registry = parkingLot.getPermitRegistry();
+        return registry != null && registry.isBlocklisted(vehicle.getVehicleNo());
+    }
+
+    private Ticket tryAllocateInZone(Vehicle vehicle, TenantZone zone) {
+        if (!zone.hasFreeSpotFor(vehicle)) {
+            return null;
+        }
+        ISlotAllocationStrategy strategy = parkingLot.getAllocationStrategy();
+        // A lost race means another gate parked, so keep going until the search finds nothing
+        while (true) {
+            ParkingSpot spot = strategy.findSpotInZone(zone, vehicle);
+            if (spot == null) {
+                return null;
+            }
+            if (spot.tryPark(vehicle)) {
+                return parkingLot.issueTicket(vehicle, spot);
+            }
+        }
+    }
+
+    private Ticket tryAllocate(Vehicle vehicle) {
+        ParkingEntryEvent event = new ParkingEntryEvent();
+        event.begin();
+
+        Ticket ticket = null;
+        GateSpotCache cache = spotCache;
+        if (cache != null) {
+            ParkingSpot spot = cache.take(vehicle);
+            if (spot != null) {
+                ticket = parkingLot.issueTicket(vehicle, spot);
+            }
+        }
+
+        // The counters only short-cut a full lot. A lost race means another gate parked, so the search is
+        // retried until it finds nothing rather than a fixed number of times.
+        int attempts = 0;
+        if (ticket == null && parkingLot.hasFreeSpotFor(vehicle)) {
+            while (ticket == null) {
+                attempts++;
+                ParkingSpot spot = parkingLot.getAllocationStrategy().findSpot(parkingLot, vehicle);
+                if (spot == null) {
+                    break;
+                }
+
+                // Another gate may have taken the spot since it was found
+                if (spot.tryPark(vehicle)) {
+                    ticket = parkingLot.issueTicket(vehicle, spot);
+                }
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.gateId = gateId;
+            event.vehicleType = vehicle.getType().name();
+            event.attempts = attempts;
+            event.allocated = ticket != null;
+            if (ticket != null) {
+                ParkingFloor floor = ticket.getSpot().getFloor();
+                event.floorNo = floor != null ? floor.getFloorNo() : -1;
+                event.spotType = ticket.getSpot().getSpotType().name();
+            }
+            event.commit();
+        }
+        return ticket;
+    }
+
+    private void allocateGroup(List<Vehicle> vehicles, List<Integer> group, Ticket[] tickets) {
+        Vehicle representative = vehicles.get(group.get(0)); // Compatibility depends only on type and charging need
+        ISlotAllocationStrategy strategy = parkingLot.getAllocationStrategy();
+        int next = 0;
+
+        for (SpotType spotType : representative.getType().getCompatibleSpotTypes()) {
+            for (ParkingFloor floor : parkingLot.getFloors()) {
+                if (floor.getFreeCount(spotType) == 0) {
+                    continue;
+                }
+                for (ParkingSpot spot : floor.getSpots()) {
+                    if (spot.getSpotType() != spotType || !spot.isAvailable() || spot.getZone() != null
+                            || !spot.isCompatibleWith(representative) || !strategy.allowsInBatch(spot, representative)) {
+                        continue;
+                    }
+                    int index = group.get(next);
+                    Vehicle vehicle = vehicles.get(index);
+                    // Another gate may have taken the spot since it was checked
+                    if (spot.tryPark(vehicle)) {
+                        tickets[index] = parkingLot.issueTicket(vehicle, spot);
+                        if (++next == group.size()) {
+                            return;
+                        }
+                        if (floor.getFreeCount(spotType) == 0) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Vehicles in the same group can use exactly the same spots
+    private static int batchGroup(Vehicle vehicle) {
+        boolean wantsCharging = vehicle instanceof IElectricVehicle && ((IElectricVehicle) vehicle).wantsCharging();
+        return vehicle.getType().ordinal() * 2 + (wantsCharging ? 1 : 0);
+    }
+
+    // Optional stock of pre-claimed spots tried before searching the lot
+    public void setSpotCache(GateSpotCache spotCache) {
+        this.spotCache = spotCache;
+    }
+
+    public GateSpotCache getSpotCache() {
+        return spotCache;
     }
 
     public int getGateId() {
@@ -1,17 +1,58 @@
+import java.time.LocalDateTime;
+
 public class ExitGate {
     private final int gateId;
-    private final IPricingStrategy pricingStrategy;
+    private final IPricingStrategy pricingStrategy; // Null when the lot's strategy is used
+    private final ParkingLot parkingLot;
 
     public ExitGate(int gateId, IPricingStrategy pricingStrategy) {
         this.gateId = gateId;
         this.pricingStrategy = pricingStrategy;
+        this.parkingLot = null;
+    }
+
+    // Prices with whatever strategy the lot has at exit time, the same instance that quoted the entry rate
+    public ExitGate(int gateId, ParkingLot parkingLot) {
+        this.gateId = gateId;
+        this.pricingStrategy = null;
+        this.parkingLot = parkingLot;
     }
 
     public double processExit(Ticket ticket) {
+        ParkingExitEvent event = new ParkingExitEvent();
+        event.begin();
+
+        // A repeated exit is priced again at the original exit time but releases nothing
+        if (!ticket.isClosed()) {
+            ticket.markExit(LocalDateTime.now());
+        }
+        IPricingStrategy pricingStrategy = getPricingStrategy();
+        // Pricing is only timed while the JFR event is recorded
+        boolean timed = event.isEnabled();
+        long pricingStart = timed ? System.nanoTime() : 0;
         double price = pricingStrategy.calculatePrice(ticket);
+        long pricingDuration = timed ? System.nanoTime() - pricingStart : 0;
         
-        // Vacate the parking spot
-        ticket.getSpot().vacate();
+        // Vacate the parking spot; only the first exit of a ticket gets here
+        if (ticket.tryClose()) {
+            ticket.getSpot().vacate();
+            TenantZone overflowZone = ticket.getOverflowZone();
+            if (overflowZone != null) {
+                overflowZone.releaseOverflow();
+            }
+        }
+
+        if (event.shouldCommit()) {
+            ParkingSpot spot = ticket.getSpot();
+            event.gateId = gateId;
+            event.vehicleType = ticket.getVehicle().getType().name();
+            event.floorNo = spot.getFloor() != null ? spot.getFloor().getFloorNo() : -1;
+            event.spotType = spot.getSpotType().name();
+            event.pricingStrategy = pricingStrategy.getClass().getSimpleName();
+            event.pricingDuration = pricingDuration;
+            event.price = price;
+            event.commit();
+        }
         
         return price;
     }
@@ -21,6 +62,6 @@ public class ExitGate {
     }
 
     public IPricingStrategy getPricingStrategy() {
-        return pricingStrategy;
+        return parkingLot != null ? parkingLot.getPricingStrategy() : pricingStrategy;
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One floor's free counts per SpotType behind the floor's own seqlock. Writers on different floors never
+// share a lock; the board validates a lot-wide read against every row's sequence.
+final class FloorAvailability {
+    private final int floorNo;
+    private final AtomicLong sequence; // Odd while a write is in progress
+    private final AtomicIntegerArray counts; // Indexed by SpotType ordinal
+    private volatile AvailabilityBoard board;
+
+    FloorAvailability(int floorNo) {
+        this.floorNo = floorNo;
+        this.sequence = new AtomicLong();
+        this.counts = new AtomicIntegerArray(SpotType.values().length);
+    }
+
+    int getFloorNo() {
+        return floorNo;
+    }
+
+    void attach(AvailabilityBoard board) {
+        this.board = board;
+    }
+
+    int get(SpotType spotType) {
+        return counts.get(spotType.ordinal());
+    }
+
+    void adjust(SpotType spotType, int delta) {
+        long stamp = beginWrite();
+        try {
+            counts.addAndGet(spotType.ordinal(), delta);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    // Both counts change in one write so readers never see the spot missing from either pool
+    void transfer(SpotType from, SpotType to) {
+        long stamp = beginWrite();
+        try {
+            counts.decrementAndGet(from.ordinal());
+            counts.incrementAndGet(to.ordinal());
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    // Copies the row into the array at offset and returns the stamp it was read under; the copy is only
+    // valid if the stamp is even and isUnchangedSince(stamp) holds afterwards
+    long copy(int[] into, int offset) {
+        long stamp = sequence.getAcquire();
+        if ((stamp & 1) == 0) {
+            for (int i = 0; i < counts.length(); i++) {
+                into[offset + i] = counts.get(i);
+            }
+        }
+        return stamp;
+    }
+
+    boolean isUnchangedSince(long stamp) {
+        VarHandle.acquireFence();
+        return sequence.get() == stamp;
+    }
+
+    long getStamp() {
+        return sequence.get();
+    }
+
+    private long beginWrite() {
+        while (true) {
+            long stamp = sequence.get();
+            if ((stamp & 1) == 0 && sequence.compareAndSet(stamp, stamp + 1)) {
+                AvailabilityBoard current = board;
+                if (current == null || !current.isPausingWriters()) {
+                    return stamp + 1;
+                }
+                // A reader is taking a lot-wide copy; nothing was written, so the old stamp still holds
+                sequence.set(stamp);
+                while (current.isPausingWriters()) {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void endWrite(long stamp) {
+        sequence.setRelease(stamp + 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+// Lane-controller side of GateProtocol. Requests are buffered until flush() so several can be
+// pipelined in one write; responses are read back in the order the requests were sent.
+public class GateClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    public GateClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public void sendEnter(int requestId, int gateId, Vehicle vehicle) throws IOException {
+        GateProtocol.writeEnter(out, requestId, gateId, vehicle);
+    }
+
+    public void sendExit(int requestId, int gateId, long ticketId) throws IOException {
+        GateProtocol.writeExit(out, requestId, gateId, ticketId);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    public GateResponse readResponse(GateResponse into) throws IOException {
+        GateProtocol.readResponse(in, into);
+        return into;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
\ No newline at end of file
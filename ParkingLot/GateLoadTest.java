@@ -0,0 +1,139 @@
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Many simulated lane controllers against a GateServer. Each lane pipelines a burst of entries,
+// then exits the tickets it got, and records the round trip of every request.
+//
+// Usage: java GateLoadTest [lanes] [cyclesPerLane] [pipelineDepth] [host port]
+// Without host and port an in-process lot and server are started on loopback.
+public class GateLoadTest {
+    public static void main(String[] args) throws Exception {
+        int lanes = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int cycles = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        GateServer server = null;
+        String host;
+        int port;
+        if (args.length > 4) {
+            host = args[3];
+            port = Integer.parseInt(args[4]);
+        } else {
+            server = new GateServer(createParkingLot(lanes * depth), lanes + 16);
+            server.start(InetAddress.getLoopbackAddress(), 0);
+            host = InetAddress.getLoopbackAddress().getHostAddress();
+            port = server.getPort();
+        }
+
+        System.out.println("=== Gate Load Test: " + lanes + " lanes x " + cycles + " cycles, pipeline depth " + depth
+                + (VirtualThreads.isAvailable() ? ", virtual threads" : ", platform threads") + " ===");
+
+        long[][] latencies = new long[lanes][];
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failedLanes = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(lanes);
+        ExecutorService laneThreads = VirtualThreads.newThreadPerTaskExecutor("lane");
+        long start = System.nanoTime();
+        for (int lane = 0; lane < lanes; lane++) {
+            int laneId = lane;
+            laneThreads.execute(() -> {
+                try {
+                    latencies[laneId] = runLane(host, port, laneId, cycles, depth, rejected);
+                } catch (Exception e) {
+                    failedLanes.incrementAndGet();
+                    latencies[laneId] = new long[0];
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsedNanos = System.nanoTime() - start;
+        laneThreads.shutdown();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Requests: %d in %d ms (%.0f req/sec), %d not served, %d lanes failed%n",
+                all.length, elapsedNanos / 1_000_000, all.length / (elapsedNanos / 1e9), rejected.get(), failedLanes.get());
+        if (all.length > 0) {
+            System.out.printf("Latency us: p50 %.0f, p90 %.0f, p99 %.0f, p99.9 %.0f, max %.0f%n",
+                    percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 0.999),
+                    all[all.length - 1] / 1000.0);
+        }
+        if (server != null) {
+            System.out.println("Server open tickets after run: " + server.getOpenTicketCount());
+            server.close();
+        }
+    }
+
+    private static long[] runLane(String host, int port, int laneId, int cycles, int depth, AtomicLong rejected) throws Exception {
+        long[] latencies = new long[cycles * depth * 2];
+        int recorded = 0;
+        long[] sentAt = new long[depth];
+        long[] ticketIds = new long[depth];
+        GateResponse response = new GateResponse();
+        int gateId = 1;
+        int requestId = 0;
+
+        try (GateClient client = new GateClient(host, port)) {
+            for (int cycle = 0; cycle < cycles; cycle++) {
+                int firstRequest = requestId;
+                for (int i = 0; i < depth; i++) {
+                    sentAt[i] = System.nanoTime();
+                    Vehicle vehicle = i % 4 == 3 ? new Bike("L" + laneId + "-" + requestId) : new Car("L" + laneId + "-" + requestId);
+                    client.sendEnter(requestId++, gateId, vehicle);
+                }
+                client.flush();
+
+                int parked = 0;
+                for (int i = 0; i < depth; i++) {
+                    client.readResponse(response);
+                    latencies[recorded++] = System.nanoTime() - sentAt[response.getRequestId() - firstRequest];
+                    if (response.isOk()) {
+                        ticketIds[parked++] = response.getTicketId();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+
+                firstRequest = requestId;
+                for (int i = 0; i < parked; i++) {
+                    sentAt[i] = System.nanoTime();
+                    client.sendExit(requestId++, gateId, ticketIds[i]);
+                }
+                client.flush();
+                for (int i = 0; i < parked; i++) {
+                    client.readResponse(response);
+                    latencies[recorded++] = System.nanoTime() - sentAt[response.getRequestId() - firstRequest];
+                    if (!response.isOk()) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(latencies, recorded);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    private static ParkingLot createParkingLot(int vehicles) {
+        int floors = 10;
+        Map<SpotType, Integer> spotsConfig = new HashMap<>();
+        spotsConfig.put(SpotType.MEDIUM, vehicles / floors + 1);
+        spotsConfig.put(SpotType.SMALL, vehicles / (3 * floors) + 1);
+        spotsConfig.put(SpotType.LARGE, 5);
+        return new ParkingLotBuilder()
+                .setFloors(floors)
+                .setSpotsPerFloor(spotsConfig)
+                .setAllocationStrategy(new NearestSlotStrategy())
+                .setPricingStrategy(new HourlyPricingStrategy(10.0))
+                .build();
+    }
+}
\ No newline at end of file
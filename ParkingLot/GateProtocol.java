@@ -0,0 +1,134 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary framing between lane controllers and {@link GateServer}. Big-endian (network order).
+ * Every frame starts with a u16 length counting the bytes that follow it.
+ * Requests may be pipelined; responses come back in request order and echo the request id.
+ *
+ * Request:  u16 length, u8 opcode, i32 requestId, then
+ *   ENTER: u16 gateId, u8 VehicleType ordinal, u8 flags (bit 0 wants charging), u8 plateLength, plate (US-ASCII)
+ *   EXIT:  u16 gateId, i64 ticketId
+ *
+ * Response: u16 length, i32 requestId, u8 status, then on STATUS_OK
+ *   ENTER: i64 ticketId, u16 floorNo, i32 spotId, u8 SpotType ordinal
+ *   EXIT:  i32 price in cents
+ * Other statuses carry no payload. STATUS_BUSY is sent with request id 0 before the server
+ * closes a connection it has no room for.
+ */
+public final class GateProtocol {
+    public static final int OP_ENTER = 1;
+    public static final int OP_EXIT = 2;
+
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_NO_SPOT = 1;
+    public static final int STATUS_DENIED = 2;
+    public static final int STATUS_UNKNOWN_TICKET = 3;
+    public static final int STATUS_UNKNOWN_GATE = 4;
+    public static final int STATUS_BAD_REQUEST = 5;
+    public static final int STATUS_BUSY = 6;
+    public static final int STATUS_ERROR = 7; // The request failed inside the server; retrying may not help
+
+    public static final int MAX_PLATE_LENGTH = 32;
+
+    static final int ENTER_OK_PAYLOAD = 8 + 2 + 4 + 1;
+    static final int EXIT_OK_PAYLOAD = 4;
+    static final int RESPONSE_HEADER = 4 + 1;
+
+    private GateProtocol() {
+    }
+
+    static void writeEnter(DataOutputStream out, int requestId, int gateId, Vehicle vehicle) throws IOException {
+        byte[] plate = vehicle.getVehicleNo().getBytes(StandardCharsets.US_ASCII);
+        if (plate.length > MAX_PLATE_LENGTH) {
+            throw new IllegalArgumentException("Plate too long: " + vehicle.getVehicleNo());
+        }
+        boolean wantsCharging = vehicle instanceof IElectricVehicle && ((IElectricVehicle) vehicle).wantsCharging();
+        out.writeShort(1 + 4 + 2 + 1 + 1 + 1 + plate.length);
+        out.writeByte(OP_ENTER);
+        out.writeInt(requestId);
+        out.writeShort(gateId);
+        out.writeByte(vehicle.getType().ordinal());
+        out.writeByte(wantsCharging ? 1 : 0);
+        out.writeByte(plate.length);
+        out.write(plate);
+    }
+
+    static void writeExit(DataOutputStream out, int requestId, int gateId, long ticketId) throws IOException {
+        out.writeShort(1 + 4 + 2 + 8);
+        out.writeByte(OP_EXIT);
+        out.writeInt(requestId);
+        out.writeShort(gateId);
+        out.writeLong(ticketId);
+    }
+
+    static void writeStatus(DataOutputStream out, int requestId, int status) throws IOException {
+        out.writeShort(RESPONSE_HEADER);
+        out.writeInt(requestId);
+        out.writeByte(status);
+    }
+
+    static void writeEnterOk(DataOutputStream out, int requestId, long ticketId, Ticket ticket) throws IOException {
+        ParkingSpot spot = ticket.getSpot();
+        ParkingFloor floor = spot.getFloor();
+        out.writeShort(RESPONSE_HEADER + ENTER_OK_PAYLOAD);
+        out.writeInt(requestId);
+        out.writeByte(STATUS_OK);
+        out.writeLong(ticketId);
+        out.writeShort(floor != null ? floor.getFloorNo() : 0);
+        out.writeInt(spot.getSpotId());
+        out.writeByte(spot.getSpotType().ordinal());
+    }
+
+    static void writeExitOk(DataOutputStream out, int requestId, double price) throws IOException {
+        out.writeShort(RESPONSE_HEADER + EXIT_OK_PAYLOAD);
+        out.writeInt(requestId);
+        out.writeByte(STATUS_OK);
+        out.writeInt((int) Math.round(price * 100));
+    }
+
+    // Reads one response; the payload fields of the holder are only meaningful for STATUS_OK
+    static void readResponse(DataInputStream in, GateResponse into) throws IOException {
+        int length = in.readUnsignedShort();
+        into.requestId = in.readInt();
+        into.status = in.readUnsignedByte();
+        int payload = length - RESPONSE_HEADER;
+        if (into.status != STATUS_OK || payload == 0) {
+            in.skipNBytes(payload);
+            return;
+        }
+        if (payload == ENTER_OK_PAYLOAD) {
+            into.ticketId = in.readLong();
+            into.floorNo = in.readUnsignedShort();
+            into.spotId = in.readInt();
+            into.spotType = SpotType.values()[in.readUnsignedByte()];
+        } else if (payload == EXIT_OK_PAYLOAD) {
+            into.priceCents = in.readInt();
+        } else {
+            throw new IOException("Unexpected response payload of " + payload + " bytes");
+        }
+    }
+
+    static Vehicle createVehicle(int vehicleTypeOrdinal, boolean wantsCharging, String plate) {
+        VehicleType[] types = VehicleType.values();
+        if (vehicleTypeOrdinal >= types.length) {
+            return null;
+        }
+        switch (types[vehicleTypeOrdinal]) {
+            case CAR:
+                return new Car(plate);
+            case BIKE:
+                return new Bike(plate);
+            case BUS:
+                return new Bus(plate);
+            case ELECTRIC_BIKE:
+                ElectricBike electricBike = new ElectricBike(plate);
+                electricBike.setWantsCharging(wantsCharging);
+                return electricBike;
+            default:
+                return null;
+        }
+    }
+}
\ No newline at end of file
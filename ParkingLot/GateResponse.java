@@ -0,0 +1,42 @@
+// Reusable holder for one decoded gate server response
+public class GateResponse {
+    int requestId;
+    int status;
+    long ticketId;
+    int floorNo;
+    int spotId;
+    SpotType spotType;
+    int priceCents;
+
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isOk() {
+        return status == GateProtocol.STATUS_OK;
+    }
+
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    public int getFloorNo() {
+        return floorNo;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    public SpotType getSpotType() {
+        return spotType;
+    }
+
+    public double getPrice() {
+        return priceCents / 100.0;
+    }
+}
\ No newline at end of file
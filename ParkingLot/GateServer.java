@@ -0,0 +1,281 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serves EntryGate and ExitGate to lane controllers over GateProtocol, one thread per connection.
+// Each connection is handled in request order with plain blocking I/O: responses are flushed once the
+// pipelined requests already received are answered, and a lane that stops reading its responses
+// only blocks its own thread, which stops reading its requests and lets TCP push back on the lane.
+public class GateServer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final ParkingLot parkingLot;
+    private final int maxConnections;
+    private final Semaphore connectionSlots;
+    private final Map<Long, Ticket> openTickets;
+    private final AtomicLong ticketSequence;
+    private final Map<Integer, EntryGate> entryGates;
+    private final Map<Integer, ExitGate> exitGates;
+    private final Set<Socket> connections;
+    private final AtomicLong requestsServed;
+    private ServerSocket serverSocket;
+    private ExecutorService handlers;
+    private Thread acceptor;
+
+    public GateServer(ParkingLot parkingLot, int maxConnections) {
+        this.parkingLot = parkingLot;
+        this.maxConnections = maxConnections;
+        this.connectionSlots = new Semaphore(maxConnections);
+        this.openTickets = new ConcurrentHashMap<>();
+        this.ticketSequence = new AtomicLong();
+        this.entryGates = new ConcurrentHashMap<>();
+        this.exitGates = new ConcurrentHashMap<>();
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.requestsServed = new AtomicLong();
+    }
+
+    // Port 0 picks a free port; see getPort()
+    public synchronized void start(InetAddress bindAddress, int port) throws IOException {
+        if (serverSocket != null) {
+            return;
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(bindAddress, port), Math.min(maxConnections, 4096));
+        handlers = VirtualThreads.newThreadPerTaskExecutor("gate-lane");
+        acceptor = new Thread(this::acceptLoop, "gate-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public synchronized int getPort() {
+        return serverSocket != null ? serverSocket.getLocalPort() : -1;
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    public int getOpenTicketCount() {
+        return openTickets.size();
+    }
+
+    public long getRequestsServed() {
+        return requestsServed.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (serverSocket == null) {
+            return;
+        }
+        closeQuietly(serverSocket);
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        handlers.shutdownNow();
+        serverSocket = null;
+    }
+
+    private void acceptLoop() {
+        ServerSocket listener = serverSocket;
+        while (!listener.isClosed()) {
+            Socket socket;
+            try {
+                socket = listener.accept();
+            } catch (IOException e) {
+                return; // Closed
+            }
+
+            if (!connectionSlots.tryAcquire()) {
+                rejectBusy(socket);
+                continue;
+            }
+            connections.add(socket);
+            try {
+                handlers.execute(() -> serve(socket));
+            } catch (RuntimeException e) {
+                connections.remove(socket);
+                connectionSlots.release();
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            byte[] plate = new byte[GateProtocol.MAX_PLATE_LENGTH];
+
+            while (true) {
+                int length;
+                try {
+                    length = in.readUnsignedShort();
+                } catch (EOFException e) {
+                    break; // Lane hung up between frames
+                }
+                if (!handleFrame(in, out, length, plate)) {
+                    break;
+                }
+                requestsServed.incrementAndGet();
+
+                // Answer everything already pipelined before paying for a flush
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Lane dropped mid-frame or the server is closing
+        } finally {
+            connections.remove(socket);
+            connectionSlots.release();
+            closeQuietly(socket);
+        }
+    }
+
+    // Returns false when the frame is malformed and the connection should be dropped
+    private boolean handleFrame(DataInputStream in, DataOutputStream out, int length, byte[] plate) throws IOException {
+        if (length < 5) {
+            in.skipNBytes(length);
+            GateProtocol.writeStatus(out, 0, GateProtocol.STATUS_BAD_REQUEST);
+            return false;
+        }
+        int opcode = in.readUnsignedByte();
+        int requestId = in.readInt();
+        int remaining = length - 5;
+
+        if (opcode == GateProtocol.OP_ENTER && remaining >= 5) {
+            int gateId = in.readUnsignedShort();
+            int vehicleType = in.readUnsignedByte();
+            int flags = in.readUnsignedByte();
+            int plateLength = in.readUnsignedByte();
+            if (plateLength <= GateProtocol.MAX_PLATE_LENGTH && remaining == 5 + plateLength) {
+                in.readFully(plate, 0, plateLength);
+                String plateText = new String(plate, 0, plateLength, StandardCharsets.US_ASCII);
+                handleEnter(out, requestId, gateId, GateProtocol.createVehicle(vehicleType, (flags & 1) != 0, plateText));
+                return true;
+            }
+            remaining -= 5;
+        } else if (opcode == GateProtocol.OP_EXIT && remaining == 10) {
+            handleExit(out, requestId, in.readUnsignedShort(), in.readLong());
+            return true;
+        }
+
+        in.skipNBytes(remaining);
+        GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_BAD_REQUEST);
+        return false;
+    }
+
+    private void handleEnter(DataOutputStream out, int requestId, int gateId, Vehicle vehicle) throws IOException {
+        EntryGate gate = findEntryGate(gateId);
+        if (gate == null) {
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_UNKNOWN_GATE);
+            return;
+        }
+        if (vehicle == null) {
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_BAD_REQUEST);
+            return;
+        }
+
+        // The gate owns the blocklist check; only a full lot is reported as NO_SPOT
+        Ticket ticket;
+        try {
+            ticket = gate.generateTicket(vehicle);
+        } catch (EntryDeniedException e) {
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_DENIED);
+            return;
+        } catch (NoSpotAvailableException e) {
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_NO_SPOT);
+            return;
+        } catch (RuntimeException e) {
+            System.err.println("Entry failed at gate " + gateId + ": " + e);
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_ERROR);
+            return;
+        }
+        long ticketId = ticketSequence.incrementAndGet();
+        openTickets.put(ticketId, ticket);
+        GateProtocol.writeEnterOk(out, requestId, ticketId, ticket);
+    }
+
+    private void handleExit(DataOutputStream out, int requestId, int gateId, long ticketId) throws IOException {
+        ExitGate gate = findExitGate(gateId);
+        if (gate == null) {
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_UNKNOWN_GATE);
+            return;
+        }
+        Ticket ticket = openTickets.remove(ticketId); // Removing first means a ticket can only be exited once
+        if (ticket == null) {
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_UNKNOWN_TICKET);
+            return;
+        }
+        double price;
+        try {
+            price = gate.processExit(ticket);
+        } catch (RuntimeException e) {
+            // Keep the ticket so the driver can retry instead of being stuck with an unknown ticket
+            openTickets.put(ticketId, ticket);
+            System.err.println("Exit failed at gate " + gateId + ": " + e);
+            GateProtocol.writeStatus(out, requestId, GateProtocol.STATUS_ERROR);
+            return;
+        }
+        GateProtocol.writeExitOk(out, requestId, price);
+    }
+
+    private EntryGate findEntryGate(int gateId) {
+        EntryGate gate = entryGates.get(gateId);
+        if (gate == null) {
+            // Gates can be added to the lot while serving; refresh on a miss
+            for (EntryGate candidate : parkingLot.getEntryGates()) {
+                entryGates.putIfAbsent(candidate.getGateId(), candidate);
+            }
+            gate = entryGates.get(gateId);
+        }
+        return gate;
+    }
+
+    private ExitGate findExitGate(int gateId) {
+        ExitGate gate = exitGates.get(gateId);
+        if (gate == null) {
+            for (ExitGate candidate : parkingLot.getExitGates()) {
+                exitGates.putIfAbsent(candidate.getGateId(), candidate);
+            }
+            gate = exitGates.get(gateId);
+        }
+        return gate;
+    }
+
+    private static void rejectBusy(Socket socket) {
+        try (socket) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            GateProtocol.writeStatus(out, 0, GateProtocol.STATUS_BUSY);
+            out.flush();
+        } catch (IOException e) {
+            // Lane already gone
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing useful to do
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// A gate's private stock of pre-claimed free spots per SpotType. Entry pops a held spot and parks
+// into it without searching; a background tick tops the stock up from the lot, and gives it all back
+// when the gate goes idle, when a pool nears capacity or when vehicles are waiting for that pool.
+// Held spots stay in the lot's free counters until a vehicle parks, so other gates, displays and
+// pricing see them as free and the capacity watermark does not move with this gate's own stock.
+public class GateSpotCache {
+    private final ParkingLot parkingLot;
+    private final Map<SpotType, Integer> lookahead;
+    private final Map<SpotType, Queue<ParkingSpot>> held;
+    private final double returnAboveOccupancy;
+    private final long idleNanos;
+    private volatile boolean used; // Set by take, cleared by refresh; written only once per refresh period
+    private long lastUseNanos; // Guarded by this cache's lock
+    private ScheduledExecutorService refresher;
+
+    // Spots are only held while the pool's occupancy is below returnAboveOccupancy
+    public GateSpotCache(ParkingLot parkingLot, Map<SpotType, Integer> lookahead,
+                         double returnAboveOccupancy, long idleMillis) {
+        this.parkingLot = parkingLot;
+        this.lookahead = new EnumMap<>(lookahead);
+        this.held = new EnumMap<>(SpotType.class);
+        for (SpotType spotType : SpotType.values()) {
+            held.put(spotType, new ConcurrentLinkedQueue<>());
+        }
+        this.returnAboveOccupancy = returnAboveOccupancy;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        this.lastUseNanos = System.nanoTime();
+    }
+
+    public synchronized void start(long periodMillis) {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gate-spot-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> refresh(System.nanoTime()), 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Waits for a running refresh so nothing is held once this returns
+    public void stop() throws InterruptedException {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = refresher;
+            refresher = null;
+        }
+        if (current != null) {
+            current.shutdownNow();
+            current.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        releaseAll();
+    }
+
+    // Parks the vehicle into a held spot of the first compatible type that has one
+    ParkingSpot take(Vehicle vehicle) {
+        if (!used) {
+            used = true;
+        }
+        for (SpotType spotType : vehicle.getType().getCompatibleSpotTypes()) {
+            Queue<ParkingSpot> queue = held.get(spotType);
+            ParkingSpot spot;
+            while ((spot = queue.poll()) != null) {
+                if (!spot.isCompatibleWith(vehicle)) {
+                    queue.offer(spot); // E.g. no charging point; fine for the next vehicle
+                    break;
+                }
+                if (spot.parkHeld(this, vehicle)) {
+                    return spot;
+                }
+                spot.releaseHold(this); // Closed or retyped while held
+            }
+        }
+        return null;
+    }
+
+    // Tops each pool up to its lookahead, or returns its spots if the lot needs them more
+    public synchronized void refresh(long nowNanos) {
+        if (used) {
+            used = false;
+            lastUseNanos = nowNanos;
+        }
+        boolean idle = nowNanos - lastUseNanos > idleNanos;
+        for (Map.Entry<SpotType, Integer> entry : lookahead.entrySet()) {
+            SpotType spotType = entry.getKey();
+            Queue<ParkingSpot> queue = held.get(spotType);
+            if (idle || parkingLot.getOccupancyRatio(spotType) >= returnAboveOccupancy
+                    || parkingLot.getWaitlist().hasWaiters(spotType)) {
+                release(queue);
+                continue;
+            }
+
+            int missing = entry.getValue() - queue.size();
+            for (ParkingFloor floor : parkingLot.getFloors()) {
+                if (missing <= 0) {
+                    break;
+                }
+                if (floor.getFreeCount(spotType) == 0) {
+                    continue;
+                }
+                for (ParkingSpot spot : floor.getSpots()) {
+                    if (spot.getSpotType() == spotType && spot.isAvailable() && spot.getZone() == null
+                            && spot.tryHold(this)) {
+                        queue.offer(spot);
+                        if (--missing == 0) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized void releaseAll() {
+        for (Queue<ParkingSpot> queue : held.values()) {
+            release(queue);
+        }
+    }
+
+    public int getHeldCount(SpotType spotType) {
+        return held.get(spotType).size();
+    }
+
+    private void release(Queue<ParkingSpot> queue) {
+        ParkingSpot spot;
+        while ((spot = queue.poll()) != null) {
+            spot.releaseHold(this);
+        }
+    }
+}
\ No newline at end of file
@@ -1,7 +1,7 @@
 import java.time.LocalDateTime;
 import java.time.Duration;
 
-public class HourlyPricingStrategy implements IPricingStrategy {
+public class HourlyPricingStrategy implements IDurationPricingStrategy {
     private final double hourlyRate;
 
     public HourlyPricingStrategy(double hourlyRate) {
@@ -10,18 +10,32 @@ public class HourlyPricingStrategy implements IPricingStrategy {
 
     @Override
     public double calculatePrice(Ticket ticket) {
+        return calculatePrice(ticket, hourlyRate);
+    }
+
+    // Same billing rules at a rate other than this strategy's own, e.g. one locked into the ticket at entry
+    public double calculatePrice(Ticket ticket, double rate) {
         LocalDateTime entryTime = ticket.getEntryTime();
-        LocalDateTime exitTime = LocalDateTime.now();
+        LocalDateTime exitTime = ticket.getExitTime() != null ? ticket.getExitTime() : LocalDateTime.now();
         
         long minutes = Duration.between(entryTime, exitTime).toMinutes();
-        
+        return priceForMinutes(minutes, rate, ticket.isUsingCharging());
+    }
+
+    @Override
+    public double calculatePrice(VehicleType vehicleType, SpotType spotType, long entryEpochSecond,
+                                 long durationSeconds, boolean usingCharging) {
+        return priceForMinutes(durationSeconds / 60, hourlyRate, usingCharging);
+    }
+
+    private static double priceForMinutes(long minutes, double rate, boolean usingCharging) {
         // Calculate hours (minimum 1 hour billing)
         double hours = Math.max(1.0, Math.ceil(minutes / 60.0));
         
-        double basePrice = hours * hourlyRate;
+        double basePrice = hours * rate;
         
         // Additional charge for using electric charging
-        if (ticket.isUsingCharging()) {
+        if (usingCharging) {
             basePrice += hours * 5.0; // $5 per hour for charging
         }
         
@@ -0,0 +1,6 @@
+// Pricing that depends only on the shape and length of a stay, so it can be computed straight from
+// columnar history without building a Ticket per row
+public interface IDurationPricingStrategy extends IPricingStrategy {
+    double calculatePrice(VehicleType vehicleType, SpotType spotType, long entryEpochSecond,
+                          long durationSeconds, boolean usingCharging);
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+// How the federation talks to one lot, whether it runs in this process or behind a link
+public interface ILotGateway {
+    String getLotId();
+
+    // Changes whenever the lot's availability changes, so unchanged lots can be skipped
+    long getVersion();
+
+    // Fills free counts indexed by SpotType ordinal
+    void readFreeCounts(int[] freeCountsBySpotType);
+
+    // Called whenever availability may have changed, so the federation re-reads only lots that changed;
+    // null detaches the listener
+    void setAvailabilityListener(Runnable listener);
+
+    SpotReservation reserve(Vehicle vehicle);
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public interface IOverstayListener {
+    void onOverstay(Ticket ticket, Duration allowedStay);
+
+    // A tick of the monitor's own ticker failed; the ticker keeps running
+    default void onMonitorFailure(RuntimeException e) {
+        Logger.getLogger(OverstayMonitor.class.getName()).log(Level.WARNING, "Overstay tick failed", e);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+// Pricing that adjusts another strategy's price; lets the lot find a rate quote under the wrapper
+public interface IPricingDecorator extends IPricingStrategy {
+    IPricingStrategy getBaseStrategy();
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+// Quotes the hourly rate a new ticket is locked to at entry; the lot needs nothing else from pricing
+public interface IRateQuoteStrategy {
+    double quoteHourlyRate(ParkingSpot spot);
+}
\ No newline at end of file
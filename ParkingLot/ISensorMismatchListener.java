@@ -0,0 +1,3 @@
+public interface ISensorMismatchListener {
+    void onMismatch(SensorMismatch mismatch);
+}
\ No newline at end of file
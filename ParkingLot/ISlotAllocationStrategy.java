@@ -1,3 +1,18 @@
 public interface ISlotAllocationStrategy {
     ParkingSpot findSpot(ParkingLot parkingLot, Vehicle vehicle);
+
+    // Tenant vehicles look in their own zone before the public pool; findSpot only returns public spots
+    default ParkingSpot findSpotInZone(TenantZone zone, Vehicle vehicle) {
+        for (ParkingSpot spot : zone.getSpots()) {
+            if (spot.isAvailable() && spot.isCompatibleWith(vehicle)) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    // Batch entry walks the spot pools itself and only asks whether a free compatible spot may be used
+    default boolean allowsInBatch(ParkingSpot spot, Vehicle vehicle) {
+        return true;
+    }
 }
\ No newline at end of file
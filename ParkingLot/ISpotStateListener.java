@@ -0,0 +1,5 @@
+public interface ISpotStateListener {
+    void onSpotOccupied(ParkingSpot spot);
+    void onSpotVacated(ParkingSpot spot);
+    void onSpotUpdated(ParkingSpot spot); // Closed, reopened or retyped
+}
\ No newline at end of file
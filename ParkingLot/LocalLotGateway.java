@@ -0,0 +1,72 @@
+public class LocalLotGateway implements ILotGateway, ISpotStateListener {
+    private final String lotId;
+    private final ParkingLot parkingLot;
+    private final AvailabilitySnapshot snapshot;
+    private volatile Runnable availabilityListener;
+
+    public LocalLotGateway(String lotId, ParkingLot parkingLot) {
+        this.lotId = lotId;
+        this.parkingLot = parkingLot;
+        this.snapshot = new AvailabilitySnapshot();
+    }
+
+    @Override
+    public String getLotId() {
+        return lotId;
+    }
+
+    @Override
+    public long getVersion() {
+        return parkingLot.getAvailabilityVersion();
+    }
+
+    @Override
+    public synchronized void readFreeCounts(int[] freeCountsBySpotType) {
+        parkingLot.readAvailability(snapshot);
+        for (SpotType spotType : SpotType.values()) {
+            freeCountsBySpotType[spotType.ordinal()] = snapshot.getTotalFreeCount(spotType);
+        }
+    }
+
+    @Override
+    public synchronized void setAvailabilityListener(Runnable listener) {
+        if (listener != null && availabilityListener == null) {
+            parkingLot.addSpotStateListener(this);
+        } else if (listener == null && availabilityListener != null) {
+            parkingLot.removeSpotStateListener(this);
+        }
+        this.availabilityListener = listener;
+    }
+
+    @Override
+    public SpotReservation reserve(Vehicle vehicle) {
+        return parkingLot.reserveSpot(vehicle);
+    }
+
+    @Override
+    public void onSpotOccupied(ParkingSpot spot) {
+        notifyAvailabilityChanged();
+    }
+
+    @Override
+    public void onSpotVacated(ParkingSpot spot) {
+        notifyAvailabilityChanged();
+    }
+
+    // Closes, reopens, retypes and holds can all move the free counts
+    @Override
+    public void onSpotUpdated(ParkingSpot spot) {
+        notifyAvailabilityChanged();
+    }
+
+    private void notifyAvailabilityChanged() {
+        Runnable listener = availabilityListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    public ParkingLot getParkingLot() {
+        return parkingLot;
+    }
+}
\ No newline at end of file
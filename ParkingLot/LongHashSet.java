@@ -0,0 +1,46 @@
+// Open-addressing set of non-zero longs; about 16 bytes per entry and no boxing
+public class LongHashSet {
+    private final long[] keys;
+    private final int mask;
+    private int size;
+
+    public LongHashSet(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedEntries * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public boolean add(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Zero is reserved as the empty marker");
+        }
+        if (size >= keys.length - (keys.length >>> 2)) {
+            throw new IllegalStateException("LongHashSet is full; size it for the expected entries");
+        }
+        int index = (int) BloomFilter.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long key) {
+        int index = (int) BloomFilter.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+}
\ No newline at end of file
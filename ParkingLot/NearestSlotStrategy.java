@@ -2,44 +2,37 @@ public class NearestSlotStrategy implements ISlotAllocationStrategy {
     
     @Override
     public ParkingSpot findSpot(ParkingLot parkingLot, Vehicle vehicle) {
+        SpotSearchEvent event = new SpotSearchEvent();
+        event.begin();
+
+        int examined = 0;
+        ParkingSpot found = null;
+        search:
         for (ParkingFloor floor : parkingLot.getFloors()) {
             for (ParkingSpot spot : floor.getSpots()) {
+                examined++;
                 if (isSpotSuitable(spot, vehicle)) {
-                    return spot;
+                    found = spot;
+                    break search;
                 }
             }
         }
-        return null; // No suitable spot found
-    }
-
-    private boolean isSpotSuitable(ParkingSpot spot, Vehicle vehicle) {
-        if (!spot.isAvailable()) {
-            return false;
-        }
 
-        // Check if electric vehicle needs charging and spot has charging point
-        if (vehicle instanceof IElectricVehicle) {
-            IElectricVehicle electricVehicle = (IElectricVehicle) vehicle;
-            if (electricVehicle.wantsCharging() && !spot.hasChargingPoint()) {
-                return false;
+        if (event.shouldCommit()) {
+            event.strategy = getClass().getSimpleName();
+            event.vehicleType = vehicle.getType().name();
+            event.spotsExamined = examined;
+            event.found = found != null;
+            if (found != null) {
+                event.floorNo = found.getFloor() != null ? found.getFloor().getFloorNo() : -1;
+                event.spotType = found.getSpotType().name();
             }
+            event.commit();
         }
-
-        // Check vehicle-spot compatibility
-        return isVehicleCompatibleWithSpot(vehicle.getType(), spot.getSpotType());
+        return found; // Null when no suitable spot was found
     }
 
-    private boolean isVehicleCompatibleWithSpot(VehicleType vehicleType, SpotType spotType) {
-        switch (vehicleType) {
-            case BIKE:
-            case ELECTRIC_BIKE:
-                return spotType == SpotType.SMALL || spotType == SpotType.ELECTRIC;
-            case CAR:
-                return spotType == SpotType.MEDIUM || spotType == SpotType.LARGE;
-            case BUS:
-                return spotType == SpotType.LARGE;
-            default:
-                return false;
-        }
+    private boolean isSpotSuitable(ParkingSpot spot, Vehicle vehicle) {
+        return spot.isAvailable() && spot.getZone() == null && spot.isCompatibleWith(vehicle);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+// Thrown when no compatible spot is free; callers may wait, queue or try another lot
+public class NoSpotAvailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public NoSpotAvailableException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
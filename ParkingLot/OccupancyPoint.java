@@ -0,0 +1,35 @@
+public class OccupancyPoint {
+    private final long timestampMillis;
+    private final int minFree;
+    private final int maxFree;
+    private final double avgFree;
+
+    public OccupancyPoint(long timestampMillis, int minFree, int maxFree, double avgFree) {
+        this.timestampMillis = timestampMillis;
+        this.minFree = minFree;
+        this.maxFree = maxFree;
+        this.avgFree = avgFree;
+    }
+
+    // Start of the bucket the point summarizes
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public int getMinFree() {
+        return minFree;
+    }
+
+    public int getMaxFree() {
+        return maxFree;
+    }
+
+    public double getAvgFree() {
+        return avgFree;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d: min %d, max %d, avg %.1f", timestampMillis, minFree, maxFree, avgFree);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Mirrors spot occupancy and per-floor free counts into a memory-mapped file (see OccupancySegment).
+// Gates only drop the changed spot into a lock-free ring; one writer thread owns the mapped file and
+// rewrites each spot from its current state, so a full ring loses no information, only ordering: the
+// overflow is counted and the writer rewrites every spot once it catches up. A restart never touches a
+// file other processes may have mapped: the new segment is filled in a temporary file and renamed over it.
+public class OccupancyPublisher implements ISpotStateListener, AutoCloseable {
+    private static final int TYPES = SpotType.values().length;
+
+    private final ParkingLot parkingLot;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int floorCapacity;
+    private final int spotsPerFloor;
+    private final int spotTableOffset;
+    private final AtomicLong dropped;
+    private final Thread writer;
+
+    // Bounded multi-producer ring; a claimed slot stays null until its producer has stored the spot
+    private final AtomicReferenceArray<ParkingSpot> ring;
+    private final int mask;
+    private final AtomicLong tail;
+    private volatile long head;
+    private volatile boolean resyncNeeded;
+    private volatile boolean writerParked;
+    private volatile boolean running;
+
+    // Only touched by the writer thread
+    private long sequence;
+    private int floorCount;
+
+    private OccupancyPublisher(ParkingLot parkingLot, FileChannel channel, int floorCapacity, int spotsPerFloor,
+                               int ringCapacity) throws IOException {
+        this.parkingLot = parkingLot;
+        this.channel = channel;
+        this.floorCapacity = floorCapacity;
+        this.spotsPerFloor = spotsPerFloor;
+        this.spotTableOffset = OccupancySegment.spotTableOffset(floorCapacity, TYPES);
+        long size = OccupancySegment.fileSize(floorCapacity, spotsPerFloor, TYPES);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        this.dropped = new AtomicLong();
+        int capacity = Integer.highestOneBit(Math.max(2, ringCapacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.tail = new AtomicLong();
+        this.writer = new Thread(this::run, "occupancy-publisher");
+        this.writer.setDaemon(true);
+    }
+
+    public static OccupancyPublisher open(ParkingLot parkingLot, Path path, int floorCapacity, int spotsPerFloor)
+            throws IOException {
+        return open(parkingLot, path, floorCapacity, spotsPerFloor, 4096);
+    }
+
+    public static OccupancyPublisher open(ParkingLot parkingLot, Path path, int floorCapacity, int spotsPerFloor,
+                                          int ringCapacity) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        OccupancyPublisher publisher;
+        try {
+            publisher = new OccupancyPublisher(parkingLot, channel, floorCapacity, spotsPerFloor, ringCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        publisher.initialize();
+        try {
+            // Readers of the old file keep their mapping; new readers see only a fully initialized segment
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            publisher.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        publisher.start();
+        return publisher;
+    }
+
+    @Override
+    public void onSpotOccupied(ParkingSpot spot) {
+        enqueue(spot);
+    }
+
+    @Override
+    public void onSpotVacated(ParkingSpot spot) {
+        enqueue(spot);
+    }
+
+    @Override
+    public void onSpotUpdated(ParkingSpot spot) {
+        enqueue(spot);
+    }
+
+    // Changes that did not fit in the ring or the mapped tables
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parkingLot.removeSpotStateListener(this);
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        OccupancySegment.INT.setRelease(buffer, OccupancySegment.RETIRED_OFFSET, 1);
+        buffer.force();
+        channel.close();
+    }
+
+    private void initialize() {
+        OccupancySegment.INT.set(buffer, OccupancySegment.VERSION_OFFSET, OccupancySegment.LAYOUT_VERSION);
+        OccupancySegment.INT.set(buffer, OccupancySegment.FLOOR_CAPACITY_OFFSET, floorCapacity);
+        OccupancySegment.INT.set(buffer, OccupancySegment.SPOTS_PER_FLOOR_OFFSET, spotsPerFloor);
+        OccupancySegment.INT.set(buffer, OccupancySegment.SPOT_TYPE_COUNT_OFFSET, TYPES);
+        OccupancySegment.LONG.set(buffer, OccupancySegment.PUBLISHER_EPOCH_OFFSET, System.currentTimeMillis());
+
+        // Subscribe before the initial copy so no change between the two is lost
+        parkingLot.addSpotStateListener(this);
+        writeAll();
+
+        // Readers treat the segment as valid only once the magic is visible
+        OccupancySegment.INT.setRelease(buffer, OccupancySegment.MAGIC_OFFSET, OccupancySegment.MAGIC);
+    }
+
+    // The ring fills from initialize() on; the writer only starts draining once the file is in place
+    private void start() {
+        running = true;
+        writer.start();
+    }
+
+    private void enqueue(ParkingSpot spot) {
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head >= ring.length()) {
+                dropped.incrementAndGet();
+                resyncNeeded = true;
+                wakeWriter();
+                return;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+
+        ring.set((int) slot & mask, spot);
+        wakeWriter();
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (drain() == 0 && !resyncNeeded) {
+                writerParked = true;
+                // Recheck after announcing the park so a producer that missed the flag is still seen
+                if (tail.get() == head && !resyncNeeded && running) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+            }
+            if (resyncNeeded) {
+                resyncNeeded = false;
+                writeAll();
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int written = 0;
+        long next = head;
+        while (next < tail.get()) {
+            int index = (int) next & mask;
+            ParkingSpot spot = ring.get(index);
+            if (spot == null) {
+                Thread.onSpinWait(); // Slot claimed but not yet filled
+                continue;
+            }
+            ring.set(index, null);
+            head = ++next;
+            write(spot);
+            written++;
+        }
+        return written;
+    }
+
+    private void writeAll() {
+        for (ParkingFloor floor : parkingLot.getFloors()) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                write(spot);
+            }
+        }
+        OccupancySegment.LONG.setRelease(buffer, OccupancySegment.DROPPED_UPDATES_OFFSET, dropped.get());
+    }
+
+    private void write(ParkingSpot spot) {
+        ParkingFloor floor = spot.getFloor();
+        if (floor == null) {
+            return;
+        }
+        int row = floor.getBoardRow();
+        int spotIndex = spot.getIndex();
+        if (row >= floorCapacity || spotIndex >= spotsPerFloor) {
+            dropped.incrementAndGet();
+            OccupancySegment.LONG.setRelease(buffer, OccupancySegment.DROPPED_UPDATES_OFFSET, dropped.get());
+            return;
+        }
+
+        int record = OccupancySegment.encodeSpot(stateOf(spot), spot.getSpotType().ordinal(), row);
+        int recordOffset = OccupancySegment.spotRecordOffset(spotTableOffset, spotsPerFloor, row, spotIndex);
+        OccupancySegment.INT.setRelease(buffer, recordOffset, record);
+
+        // Floor rows are covered by the header seqlock so readers get a consistent set of counts
+        OccupancySegment.LONG.set(buffer, OccupancySegment.SEQUENCE_OFFSET, ++sequence);
+        VarHandle.releaseFence();
+
+        int rowOffset = OccupancySegment.FLOOR_TABLE_OFFSET + row * OccupancySegment.floorRowSize(TYPES);
+        OccupancySegment.INT.set(buffer, rowOffset, floor.getFloorNo());
+        for (SpotType spotType : SpotType.values()) {
+            OccupancySegment.INT.set(buffer, rowOffset + 4 + 4 * spotType.ordinal(), floor.getFreeCount(spotType));
+        }
+        if (row >= floorCount) {
+            floorCount = row + 1;
+            OccupancySegment.INT.set(buffer, OccupancySegment.FLOOR_COUNT_OFFSET, floorCount);
+        }
+        OccupancySegment.LONG.set(buffer, OccupancySegment.LAST_UPDATE_OFFSET, System.currentTimeMillis());
+
+        OccupancySegment.LONG.setRelease(buffer, OccupancySegment.SEQUENCE_OFFSET, ++sequence);
+    }
+
+    private int stateOf(ParkingSpot spot) {
+        boolean occupied = spot.getCurrentVehicle() != null;
+        if (spot.isClosed()) {
+            return occupied ? OccupancySegment.STATE_CLOSED_OCCUPIED : OccupancySegment.STATE_CLOSED;
+        }
+        if (occupied) {
+            return OccupancySegment.STATE_OCCUPIED;
+        }
+        return spot.isHeld() ? OccupancySegment.STATE_HELD : OccupancySegment.STATE_FREE;
+    }
+}
\ No newline at end of file
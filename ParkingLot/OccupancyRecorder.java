@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Samples free counts every second into fixed-size rings: 1 hour of seconds, 7 days of minutes, 1 year of hours
+public class OccupancyRecorder {
+    private static final int TYPES = SpotType.values().length;
+    private static final long SECOND = 1000;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+
+    private final ParkingLot parkingLot;
+    private final int maxFloors;
+    private final RollupRing[] levels; // Finest first
+    private final AvailabilitySnapshot snapshot;
+    private final int[] sample;
+    private final int[] floorNos;
+    private long lastSampleMillis;
+    private ScheduledExecutorService sampler;
+
+    public OccupancyRecorder(ParkingLot parkingLot, int maxFloors) {
+        this(parkingLot, maxFloors, new RollupRing[] {
+                // One spare bucket per level so a full "last hour/7 days/year" query stays at that resolution
+                new RollupRing(SECOND, 3600 + 1, (maxFloors + 1) * TYPES),
+                new RollupRing(MINUTE, 7 * 24 * 60 + 1, (maxFloors + 1) * TYPES),
+                new RollupRing(HOUR, 365 * 24 + 1, (maxFloors + 1) * TYPES)
+        });
+    }
+
+    public OccupancyRecorder(ParkingLot parkingLot, int maxFloors, RollupRing[] levels) {
+        this.parkingLot = parkingLot;
+        this.maxFloors = maxFloors;
+        this.levels = levels;
+        this.snapshot = new AvailabilitySnapshot();
+        this.sample = new int[(maxFloors + 1) * TYPES]; // Last row holds lot-wide totals
+        this.floorNos = new int[maxFloors];
+    }
+
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> sample(System.currentTimeMillis()), 0, SECOND, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+    }
+
+    public synchronized void sample(long nowMillis) {
+        parkingLot.readAvailability(snapshot);
+        int floors = Math.min(snapshot.getFloorCount(), maxFloors);
+        int totalsBase = maxFloors * TYPES;
+
+        Arrays.fill(sample, 0);
+        for (int floor = 0; floor < floors; floor++) {
+            floorNos[floor] = snapshot.getFloorNo(floor);
+            for (SpotType spotType : SpotType.values()) {
+                int free = snapshot.getFreeCount(floor, spotType);
+                sample[floor * TYPES + spotType.ordinal()] = free;
+                sample[totalsBase + spotType.ordinal()] += free;
+            }
+        }
+
+        for (RollupRing level : levels) {
+            level.add(nowMillis, sample);
+        }
+        lastSampleMillis = nowMillis;
+    }
+
+    // Lot-wide history for one spot type, from the finest resolution that still covers the range
+    public List<OccupancyPoint> query(SpotType spotType, long fromMillis, long toMillis) {
+        return querySeries(maxFloors * TYPES + spotType.ordinal(), fromMillis, toMillis);
+    }
+
+    public synchronized List<OccupancyPoint> query(int floorNo, SpotType spotType, long fromMillis, long toMillis) {
+        for (int floor = 0; floor < maxFloors; floor++) {
+            if (floorNos[floor] == floorNo) {
+                return querySeries(floor * TYPES + spotType.ordinal(), fromMillis, toMillis);
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    // Single min/max/avg over the whole range, e.g. "free MEDIUM spots over the last 7 days"
+    public OccupancyPoint summarize(List<OccupancyPoint> points) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        double sum = 0;
+        for (OccupancyPoint point : points) {
+            min = Math.min(min, point.getMinFree());
+            max = Math.max(max, point.getMaxFree());
+            sum += point.getAvgFree();
+        }
+        return new OccupancyPoint(points.get(0).getTimestampMillis(), min, max, sum / points.size());
+    }
+
+    private synchronized List<OccupancyPoint> querySeries(int series, long fromMillis, long toMillis) {
+        long now = Math.max(toMillis, lastSampleMillis);
+        RollupRing chosen = levels[levels.length - 1];
+        for (RollupRing level : levels) {
+            if (level.covers(fromMillis, now)) {
+                chosen = level;
+                break;
+            }
+        }
+
+        List<OccupancyPoint> points = new ArrayList<>();
+        chosen.query(series, fromMillis, toMillis, points);
+        return points;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+import java.nio.ByteOrder;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Layout of the memory-mapped occupancy file shared with out-of-process readers.
+ * All fields are little-endian and naturally aligned.
+ *
+ * Header (64 bytes):
+ *   0  int   magic            'PKLT' (0x544C4B50)
+ *   4  int   layoutVersion    bumped on any incompatible layout change
+ *   8  int   floorCapacity    rows reserved in the floor table
+ *   12 int   spotsPerFloor    spot records reserved per floor row
+ *   16 int   spotTypeCount    counters per floor row (SpotType ordinals)
+ *   20 int   floorCount       rows currently in use
+ *   24 long  sequence         seqlock for the floor table; odd while a write is in progress
+ *   32 long  lastUpdateMillis wall-clock time of the last write
+ *   40 long  droppedUpdates   updates the publisher could not queue; affected spots are rewritten later
+ *   48 long  publisherEpoch   wall-clock start of the publisher that wrote this file
+ *   56 int   retired          1 once that publisher has closed; readers should reopen the path
+ *   60..63   reserved
+ *
+ * A publisher never resizes or truncates a published file: it builds a new file beside it and renames it
+ * over the old one, so readers keep a valid mapping of the old file until they reopen.
+ *
+ * Floor table at FLOOR_TABLE_OFFSET, floorCapacity rows of (4 + 4 * spotTypeCount) bytes:
+ *   int floorNo, then one int free count per SpotType ordinal.
+ *
+ * Spot table after the floor table, floorCapacity * spotsPerFloor int records at
+ * floorRow * spotsPerFloor + ParkingSpot.getIndex():
+ *   bits 0-7 state (see STATE_*), bits 8-15 SpotType ordinal, bits 16-31 floor row.
+ *   Each record is written with a single release store and can be read on its own.
+ */
+public final class OccupancySegment {
+    public static final int MAGIC = 0x544C4B50;
+    public static final int LAYOUT_VERSION = 3;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int FLOOR_CAPACITY_OFFSET = 8;
+    public static final int SPOTS_PER_FLOOR_OFFSET = 12;
+    public static final int SPOT_TYPE_COUNT_OFFSET = 16;
+    public static final int FLOOR_COUNT_OFFSET = 20;
+    public static final int SEQUENCE_OFFSET = 24;
+    public static final int LAST_UPDATE_OFFSET = 32;
+    public static final int DROPPED_UPDATES_OFFSET = 40;
+    public static final int PUBLISHER_EPOCH_OFFSET = 48;
+    public static final int RETIRED_OFFSET = 56;
+    public static final int FLOOR_TABLE_OFFSET = 64;
+
+    public static final int STATE_UNUSED = 0;
+    public static final int STATE_FREE = 1;
+    public static final int STATE_OCCUPIED = 2;
+    public static final int STATE_CLOSED = 3;
+    public static final int STATE_CLOSED_OCCUPIED = 4;
+    public static final int STATE_HELD = 5; // Empty and pre-claimed by an entry gate
+
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private OccupancySegment() {
+    }
+
+    public static int floorRowSize(int spotTypeCount) {
+        return 4 + 4 * spotTypeCount;
+    }
+
+    public static int spotTableOffset(int floorCapacity, int spotTypeCount) {
+        int offset = FLOOR_TABLE_OFFSET + floorCapacity * floorRowSize(spotTypeCount);
+        return (offset + 7) & ~7;
+    }
+
+    public static long fileSize(int floorCapacity, int spotsPerFloor, int spotTypeCount) {
+        return spotTableOffset(floorCapacity, spotTypeCount) + 4L * floorCapacity * spotsPerFloor;
+    }
+
+    public static int spotRecordOffset(int spotTableOffset, int spotsPerFloor, int floorRow, int spotIndex) {
+        return spotTableOffset + 4 * (floorRow * spotsPerFloor + spotIndex);
+    }
+
+    public static int encodeSpot(int state, int spotTypeOrdinal, int floorRow) {
+        return (state & 0xFF) | ((spotTypeOrdinal & 0xFF) << 8) | (floorRow << 16);
+    }
+
+    public static int spotState(int record) {
+        return record & 0xFF;
+    }
+
+    public static int spotTypeOrdinal(int record) {
+        return (record >>> 8) & 0xFF;
+    }
+
+    public static int floorRow(int record) {
+        return record >>> 16;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+// Maps a segment written by OccupancyPublisher, typically from another JVM on the same host
+public class OccupancySegmentReader implements AutoCloseable {
+    private final Path path;
+    private final Object fileKey; // Identifies the file mapped here, to notice when a publisher replaces it
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int floorCapacity;
+    private final int spotsPerFloor;
+    private final int spotTypeCount;
+    private final int spotTableOffset;
+
+    public OccupancySegmentReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        int magic = (int) OccupancySegment.INT.getAcquire(buffer, OccupancySegment.MAGIC_OFFSET);
+        if (magic != OccupancySegment.MAGIC) {
+            channel.close();
+            throw new IOException("Occupancy segment is not initialized: " + path);
+        }
+        int version = (int) OccupancySegment.INT.get(buffer, OccupancySegment.VERSION_OFFSET);
+        if (version != OccupancySegment.LAYOUT_VERSION) {
+            channel.close();
+            throw new IOException("Unsupported occupancy segment version " + version);
+        }
+
+        this.floorCapacity = (int) OccupancySegment.INT.get(buffer, OccupancySegment.FLOOR_CAPACITY_OFFSET);
+        this.spotsPerFloor = (int) OccupancySegment.INT.get(buffer, OccupancySegment.SPOTS_PER_FLOOR_OFFSET);
+        this.spotTypeCount = (int) OccupancySegment.INT.get(buffer, OccupancySegment.SPOT_TYPE_COUNT_OFFSET);
+        this.spotTableOffset = OccupancySegment.spotTableOffset(floorCapacity, spotTypeCount);
+    }
+
+    // Fills floorNos[row] and freeCounts[row * spotTypeCount + type]; returns the number of rows copied
+    public int readFloorCounts(int[] floorNos, int[] freeCounts) {
+        int rowSize = OccupancySegment.floorRowSize(spotTypeCount);
+        while (true) {
+            long stamp = (long) OccupancySegment.LONG.getAcquire(buffer, OccupancySegment.SEQUENCE_OFFSET);
+            if ((stamp & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int rows = Math.min((int) OccupancySegment.INT.get(buffer, OccupancySegment.FLOOR_COUNT_OFFSET),
+                    Math.min(floorNos.length, freeCounts.length / spotTypeCount));
+            for (int row = 0; row < rows; row++) {
+                int rowOffset = OccupancySegment.FLOOR_TABLE_OFFSET + row * rowSize;
+                floorNos[row] = (int) OccupancySegment.INT.get(buffer, rowOffset);
+                for (int type = 0; type < spotTypeCount; type++) {
+                    freeCounts[row * spotTypeCount + type] = (int) OccupancySegment.INT.get(buffer, rowOffset + 4 + 4 * type);
+                }
+            }
+
+            VarHandle.acquireFence();
+            if ((long) OccupancySegment.LONG.get(buffer, OccupancySegment.SEQUENCE_OFFSET) == stamp) {
+                return rows;
+            }
+        }
+    }
+
+    // floorRow matches readFloorCounts; spotIndex is ParkingSpot.getIndex()
+    public int getSpotRecord(int floorRow, int spotIndex) {
+        if (floorRow < 0 || floorRow >= floorCapacity || spotIndex < 0 || spotIndex >= spotsPerFloor) {
+            return OccupancySegment.STATE_UNUSED;
+        }
+        int offset = OccupancySegment.spotRecordOffset(spotTableOffset, spotsPerFloor, floorRow, spotIndex);
+        return (int) OccupancySegment.INT.getAcquire(buffer, offset);
+    }
+
+    public int getSpotState(int floorRow, int spotIndex) {
+        return OccupancySegment.spotState(getSpotRecord(floorRow, spotIndex));
+    }
+
+    public int getFloorCount() {
+        return (int) OccupancySegment.INT.getAcquire(buffer, OccupancySegment.FLOOR_COUNT_OFFSET);
+    }
+
+    public long getLastUpdateMillis() {
+        return (long) OccupancySegment.LONG.getAcquire(buffer, OccupancySegment.LAST_UPDATE_OFFSET);
+    }
+
+    public int getFloorCapacity() {
+        return floorCapacity;
+    }
+
+    public int getSpotsPerFloor() {
+        return spotsPerFloor;
+    }
+
+    // Non-zero means some updates were coalesced into a later rewrite rather than applied in order
+    public long getDroppedUpdates() {
+        return (long) OccupancySegment.LONG.getAcquire(buffer, OccupancySegment.DROPPED_UPDATES_OFFSET);
+    }
+
+    public int getSpotTypeCount() {
+        return spotTypeCount;
+    }
+
+    public long getPublisherEpoch() {
+        return (long) OccupancySegment.LONG.get(buffer, OccupancySegment.PUBLISHER_EPOCH_OFFSET);
+    }
+
+    // True once the publisher closed or a new publisher replaced the file; open a new reader to follow it
+    public boolean isStale() throws IOException {
+        if ((int) OccupancySegment.INT.getAcquire(buffer, OccupancySegment.RETIRED_OFFSET) != 0) {
+            return true;
+        }
+        try {
+            Object current = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            // Without file keys a replacement shows only through the retired flag
+            return fileKey != null && !Objects.equals(fileKey, current);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Schedules one deadline per open ticket instead of sweeping all tickets periodically
+public class OverstayMonitor {
+    private final TimingWheel timingWheel;
+    private final Duration allowedStay;
+    private final IOverstayListener listener;
+    private final Map<ParkingSpot, Deadline> deadlines;
+    private ScheduledExecutorService ticker;
+
+    public OverstayMonitor(Duration allowedStay, IOverstayListener listener) {
+        this(allowedStay, listener, 1000);
+    }
+
+    public OverstayMonitor(Duration allowedStay, IOverstayListener listener, long tickMillis) {
+        this.timingWheel = new TimingWheel(tickMillis, System.currentTimeMillis());
+        this.allowedStay = allowedStay;
+        this.listener = listener;
+        this.deadlines = new ConcurrentHashMap<>();
+    }
+
+    public void track(Ticket ticket) {
+        track(ticket, allowedStay);
+    }
+
+    public void track(Ticket ticket, Duration stay) {
+        long entryMillis = ticket.getEntryTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // Published before it is scheduled, so a deadline that fires on the next tick still finds itself
+        Deadline deadline = new Deadline(ticket, stay);
+        Deadline previous = deadlines.put(ticket.getSpot(), deadline);
+        if (previous != null) {
+            previous.cancel();
+        }
+        deadline.entry = timingWheel.schedule(entryMillis + stay.toMillis(), deadline);
+
+        // Released or re-tracked before the timer was set; the deadline would only be skipped when it fires
+        if (deadlines.get(ticket.getSpot()) != deadline) {
+            deadline.cancel();
+        }
+    }
+
+    public void release(ParkingSpot spot) {
+        Deadline deadline = deadlines.remove(spot);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overstay-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = timingWheel.getTickMillis();
+        // A periodic task that throws is never run again, so keep the ticker alive whatever happens
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                timingWheel.advanceTo(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                listener.onMonitorFailure(e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    // Lets callers drive time themselves, e.g. from an existing scheduler or a simulation
+    public void advanceTo(long nowMillis) {
+        timingWheel.advanceTo(nowMillis);
+    }
+
+    public int getTrackedCount() {
+        return deadlines.size();
+    }
+
+    public Duration getAllowedStay() {
+        return allowedStay;
+    }
+
+    private class Deadline implements Runnable {
+        private final Ticket ticket;
+        private final Duration stay;
+        private volatile TimerEntry entry; // Null until scheduled
+
+        Deadline(Ticket ticket, Duration stay) {
+            this.ticket = ticket;
+            this.stay = stay;
+        }
+
+        void cancel() {
+            TimerEntry scheduled = entry;
+            if (scheduled != null) {
+                timingWheel.cancel(scheduled);
+            }
+        }
+
+        @Override
+        public void run() {
+            // Skip if the vehicle left or was re-tracked while this deadline was firing
+            if (deadlines.remove(ticket.getSpot(), this)) {
+                listener.onOverstay(ticket, stay);
+            }
+        }
+    }
+}
\ No newline at end of file
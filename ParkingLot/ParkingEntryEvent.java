@@ -0,0 +1,35 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Disabled by default; turn on with -XX:StartFlightRecording:settings=... or a JFR .jfc override
+@Name("parkinglot.Entry")
+@Label("Parking Entry")
+@Category("Parking Lot")
+@Description("Spot allocation for one vehicle at an entry gate")
+@Enabled(false)
+@StackTrace(false)
+public class ParkingEntryEvent extends Event {
+    @Label("Gate")
+    int gateId;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Floor")
+    int floorNo;
+
+    @Label("Spot Type")
+    String spotType;
+
+    @Label("Attempts")
+    @Description("Searches made, including retries after losing a spot to another gate")
+    int attempts;
+
+    @Label("Allocated")
+    boolean allocated;
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("parkinglot.Exit")
+@Label("Parking Exit")
+@Category("Parking Lot")
+@Description("Pricing and spot release for one ticket at an exit gate")
+@Enabled(false)
+@StackTrace(false)
+public class ParkingExitEvent extends Event {
+    @Label("Gate")
+    int gateId;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Floor")
+    int floorNo;
+
+    @Label("Spot Type")
+    String spotType;
+
+    @Label("Pricing Strategy")
+    String pricingStrategy;
+
+    @Label("Pricing Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long pricingDuration;
+
+    @Label("Price")
+    double price;
+}
\ No newline at end of file
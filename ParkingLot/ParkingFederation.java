@@ -0,0 +1,239 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Routes drivers across many lots using an in-memory index of free compatible spots per VehicleType.
+// Lots push a change notice whenever their counters move, so a sync only re-reads the lots that changed.
+public class ParkingFederation {
+    private static final int TYPES = SpotType.values().length;
+    private static final int MAX_RESERVATION_CANDIDATES = 5;
+    private static final Duration DEFAULT_RESERVATION_TTL = Duration.ofMinutes(15);
+
+    private final Map<String, LotState> lots;
+    private final Map<VehicleType, TreeSet<LotScore>> index; // Most free spots first
+    private final Queue<LotState> changedLots;
+    private final Duration reservationTtl;
+    private final TimingWheel reservationExpiry;
+    private ScheduledExecutorService syncer;
+
+    public ParkingFederation() {
+        this(DEFAULT_RESERVATION_TTL);
+    }
+
+    public ParkingFederation(Duration reservationTtl) {
+        this.lots = new ConcurrentHashMap<>();
+        this.index = new EnumMap<>(VehicleType.class);
+        for (VehicleType vehicleType : VehicleType.values()) {
+            index.put(vehicleType, new TreeSet<>());
+        }
+        this.changedLots = new ConcurrentLinkedQueue<>();
+        this.reservationTtl = reservationTtl;
+        this.reservationExpiry = new TimingWheel(1000, System.currentTimeMillis());
+    }
+
+    public void addLot(ILotGateway gateway) {
+        LotState state = new LotState(gateway);
+        lots.put(gateway.getLotId(), state);
+        gateway.setAvailabilityListener(() -> markChanged(state));
+        sync(state, true);
+    }
+
+    public void removeLot(String lotId) {
+        LotState state = lots.remove(lotId);
+        if (state != null) {
+            state.gateway.setAvailabilityListener(null);
+            synchronized (index) {
+                for (LotScore score : state.scores.values()) {
+                    index.get(score.vehicleType).remove(score);
+                }
+            }
+        }
+    }
+
+    // Re-reads only lots that pushed a change since their last sync; returns how many were re-ranked
+    public int syncNow() {
+        int changed = 0;
+        LotState state;
+        while ((state = changedLots.poll()) != null) {
+            // Cleared before reading so a change during the read queues the lot again
+            state.changed.set(false);
+            if (sync(state, false)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    // Lets callers drive reservation expiry themselves instead of through start()
+    public void advanceTo(long nowMillis) {
+        reservationExpiry.advanceTo(nowMillis);
+    }
+
+    public synchronized void start(long periodMillis) {
+        if (syncer != null) {
+            return;
+        }
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "federation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A periodic task that throws is never run again, so keep the syncer alive whatever happens
+        syncer.scheduleWithFixedDelay(() -> {
+            try {
+                syncNow();
+                reservationExpiry.advanceTo(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                System.err.println("Federation sync failed: " + e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+            syncer = null;
+        }
+    }
+
+    // Best lot as of the last sync, or null if no lot reported a compatible free spot
+    public String findBestLot(VehicleType vehicleType) {
+        synchronized (index) {
+            TreeSet<LotScore> ranking = index.get(vehicleType);
+            return ranking.isEmpty() ? null : ranking.first().lotId;
+        }
+    }
+
+    public int getFreeSpots(String lotId, VehicleType vehicleType) {
+        LotState state = lots.get(lotId);
+        if (state == null) {
+            return 0;
+        }
+        synchronized (index) {
+            LotScore score = state.scores.get(vehicleType);
+            return score == null ? 0 : score.freeSpots;
+        }
+    }
+
+    // Pre-claims a spot at the best lot, falling back to the next ones if the index was stale. The spot
+    // goes back to its lot if the vehicle has not claimed it within the reservation TTL.
+    public SpotReservation reserve(Vehicle vehicle) {
+        List<String> candidates = new ArrayList<>();
+        synchronized (index) {
+            Iterator<LotScore> ranking = index.get(vehicle.getType()).iterator();
+            while (ranking.hasNext() && candidates.size() < MAX_RESERVATION_CANDIDATES) {
+                candidates.add(ranking.next().lotId);
+            }
+        }
+
+        for (String lotId : candidates) {
+            LotState state = lots.get(lotId);
+            if (state == null) {
+                continue;
+            }
+            SpotReservation reservation = state.gateway.reserve(vehicle);
+            sync(state, true);
+            if (reservation != null) {
+                reservation.expireAt(reservationExpiry, System.currentTimeMillis() + reservationTtl.toMillis());
+                return reservation;
+            }
+        }
+        return null;
+    }
+
+    public int getLotCount() {
+        return lots.size();
+    }
+
+    public int getPendingReservationCount() {
+        return reservationExpiry.size();
+    }
+
+    // Called on whatever thread changed the lot, so it only queues the lot once until the next sync
+    private void markChanged(LotState state) {
+        if (!state.changed.get() && state.changed.compareAndSet(false, true)) {
+            changedLots.add(state);
+        }
+    }
+
+    private boolean sync(LotState state, boolean force) {
+        long version = state.gateway.getVersion();
+        if (!force && version == state.lastVersion) {
+            return false;
+        }
+
+        // Read the version first so a change during the read is picked up by the next sync
+        int[] freeCounts = new int[TYPES];
+        state.gateway.readFreeCounts(freeCounts);
+
+        synchronized (index) {
+            if (!lots.containsKey(state.gateway.getLotId())) {
+                return false; // Removed while syncing
+            }
+            state.lastVersion = version;
+            for (VehicleType vehicleType : VehicleType.values()) {
+                int free = 0;
+                for (SpotType spotType : vehicleType.getCompatibleSpotTypes()) {
+                    free += freeCounts[spotType.ordinal()];
+                }
+
+                TreeSet<LotScore> ranking = index.get(vehicleType);
+                LotScore previous = state.scores.remove(vehicleType);
+                if (previous != null) {
+                    ranking.remove(previous);
+                }
+                if (free > 0) {
+                    LotScore score = new LotScore(state.gateway.getLotId(), vehicleType, free);
+                    state.scores.put(vehicleType, score);
+                    ranking.add(score);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static class LotState {
+        private final ILotGateway gateway;
+        private final Map<VehicleType, LotScore> scores;
+        private final AtomicBoolean changed;
+        private long lastVersion;
+
+        LotState(ILotGateway gateway) {
+            this.gateway = gateway;
+            this.scores = new EnumMap<>(VehicleType.class);
+            this.changed = new AtomicBoolean();
+            this.lastVersion = -1;
+        }
+    }
+
+    private static class LotScore implements Comparable<LotScore> {
+        private final String lotId;
+        private final VehicleType vehicleType;
+        private final int freeSpots;
+
+        LotScore(String lotId, VehicleType vehicleType, int freeSpots) {
+            this.lotId = lotId;
+            this.vehicleType = vehicleType;
+            this.freeSpots = freeSpots;
+        }
+
+        @Override
+        public int compareTo(LotScore other) {
+            if (freeSpots != other.freeSpots) {
+                return Integer.compare(other.freeSpots, freeSpots);
+            }
+            return lotId.compareTo(other.lotId);
+        }
+    }
+}
\ No newline at end of file
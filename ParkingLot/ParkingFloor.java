@@ -1,24 +1,146 @@
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
-public class ParkingFloor {
+public class ParkingFloor implements ISpotStateListener {
     private final int floorNo;
-    private final List<ParkingSpot> spots;
+    private final List<ParkingSpot> spots; // Copy-on-write so gates can scan while spots are added
+    // Public spots only; tenant bays are counted in their TenantZone
+    private final FloorAvailability freeCounts; // This floor's row of the lot's availability board
+    private final AtomicIntegerArray spotCounts; // Capacity per SpotType, including occupied and closed spots
+    private volatile ISpotStateListener stateListener;
+    private int boardRow;
 
     public ParkingFloor(int floorNo) {
         this.floorNo = floorNo;
-        this.spots = new ArrayList<>();
+        this.spots = new CopyOnWriteArrayList<>();
+        this.freeCounts = new FloorAvailability(floorNo);
+        this.spotCounts = new AtomicIntegerArray(SpotType.values().length);
     }
 
     public void addSpot(ParkingSpot spot) {
-        spots.add(spot);
+        addSpots(Collections.singletonList(spot));
+    }
+
+    // Publishes the whole batch with one copy of the spot list instead of one copy per spot
+    public synchronized void addSpots(List<ParkingSpot> newSpots) {
+        if (spots.size() + newSpots.size() > ParkingSpot.SPOTS_PER_FLOOR_LIMIT) {
+            throw new IllegalStateException("Floor " + floorNo + " cannot hold more than "
+                    + ParkingSpot.SPOTS_PER_FLOOR_LIMIT + " spots");
+        }
+        List<ParkingSpot> available = new ArrayList<>();
+        int index = spots.size();
+        for (ParkingSpot spot : newSpots) {
+            synchronized (spot) {
+                if (spot.getFloor() != null) {
+                    throw new IllegalStateException("Spot " + spot.getSpotId() + " is already on a floor");
+                }
+                spot.setFloor(this, index++); // Counts itself in here, or in its tenant zone
+                if (spot.isAvailable()) {
+                    available.add(spot);
+                }
+            }
+        }
+        spots.addAll(newSpots);
+
+        for (ParkingSpot spot : available) {
+            onSpotVacated(spot);
+        }
     }
 
     public List<ParkingSpot> getSpots() {
-        return new ArrayList<>(spots); // Return defensive copy
+        return Collections.unmodifiableList(spots); // Iteration sees a stable snapshot
     }
 
     public int getFloorNo() {
         return floorNo;
     }
+
+    public int getFreeCount(SpotType spotType) {
+        return freeCounts.get(spotType);
+    }
+
+    public int getSpotCount(SpotType spotType) {
+        return spotCounts.get(spotType.ordinal());
+    }
+
+    // Share of this floor's spots of a type that cannot be handed out right now; closed spots count as taken
+    public double getOccupancyRatio(SpotType spotType) {
+        int total = getSpotCount(spotType);
+        return total == 0 ? 1.0 : 1.0 - (double) getFreeCount(spotType) / total;
+    }
+
+    // Stops new allocations on this floor; occupied spots close as their vehicles leave
+    public void drain() {
+        for (ParkingSpot spot : spots) {
+            spot.close();
+        }
+    }
+
+    public void reopen() {
+        for (ParkingSpot spot : spots) {
+            spot.reopen();
+        }
+    }
+
+    public boolean isDrained() {
+        for (ParkingSpot spot : spots) {
+            if (!spot.isClosed() || spot.getCurrentVehicle() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void onSpotOccupied(ParkingSpot spot) {
+        ISpotStateListener listener = stateListener;
+        if (listener != null) {
+            listener.onSpotOccupied(spot);
+        }
+    }
+
+    @Override
+    public void onSpotVacated(ParkingSpot spot) {
+        ISpotStateListener listener = stateListener;
+        if (listener != null) {
+            listener.onSpotVacated(spot);
+        }
+    }
+
+    @Override
+    public void onSpotUpdated(ParkingSpot spot) {
+        ISpotStateListener listener = stateListener;
+        if (listener != null) {
+            listener.onSpotUpdated(spot);
+        }
+    }
+
+    void setStateListener(ISpotStateListener stateListener) {
+        this.stateListener = stateListener;
+    }
+
+    // The board reads this floor's counters directly, so there is nothing to seed or keep in step
+    void attachAvailabilityBoard(AvailabilityBoard board) {
+        this.boardRow = board.addFloor(freeCounts);
+    }
+
+    int getBoardRow() {
+        return boardRow;
+    }
+
+    void adjustFreeCount(SpotType spotType, int delta) {
+        freeCounts.adjust(spotType, delta);
+    }
+
+    void adjustSpotCount(SpotType spotType, int delta) {
+        spotCounts.addAndGet(spotType.ordinal(), delta);
+    }
+
+    // Moves a free spot between pools in one write so readers never see it missing
+    void transferFreeCount(SpotType from, SpotType to) {
+        freeCounts.transfer(from, to);
+    }
 }
\ No newline at end of file
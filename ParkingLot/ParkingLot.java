@@ -1,22 +1,46 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
-public class ParkingLot {
+public class ParkingLot implements ISpotStateListener {
     private final List<ParkingFloor> floors;
     private final ISlotAllocationStrategy allocationStrategy;
     private final List<EntryGate> entryGates;
     private final List<ExitGate> exitGates;
+    private final SpotWaitlist waitlist;
+    private final AvailabilityBoard availabilityBoard;
+    private final List<ISpotStateListener> spotStateListeners;
+    private final Map<String, TenantZone> tenantZones;
+    private volatile OverstayMonitor overstayMonitor;
+    private volatile PermitRegistry permitRegistry;
+    private volatile IPricingStrategy pricingStrategy;
 
     public ParkingLot(ISlotAllocationStrategy allocationStrategy) {
         this.allocationStrategy = allocationStrategy;
-        this.floors = new ArrayList<>();
-        this.entryGates = new ArrayList<>();
-        this.exitGates = new ArrayList<>();
+        this.floors = new CopyOnWriteArrayList<>(); // Floors can be added while gates are running
+        this.entryGates = new CopyOnWriteArrayList<>();
+        this.exitGates = new CopyOnWriteArrayList<>();
+        this.waitlist = new SpotWaitlist();
+        this.availabilityBoard = new AvailabilityBoard();
+        this.spotStateListeners = new CopyOnWriteArrayList<>();
+        this.tenantZones = new ConcurrentHashMap<>();
     }
 
     public void addFloor(ParkingFloor floor) {
+        floor.attachAvailabilityBoard(availabilityBoard);
+        floor.setStateListener(this);
         floors.add(floor);
+
+        // Spots on a new floor may be able to serve vehicles already waiting
+        for (ParkingSpot spot : floor.getSpots()) {
+            if (spot.isAvailable()) {
+                offerToWaitlist(spot);
+            }
+        }
     }
 
     public void addEntryGate(EntryGate gate) {
@@ -34,14 +58,122 @@ public class ParkingLot {
                 .collect(Collectors.toList());
     }
 
+    // Lock-free consistent view for display boards and apps; reuse the snapshot to avoid allocation
+    public AvailabilitySnapshot readAvailability(AvailabilitySnapshot into) {
+        availabilityBoard.read(into);
+        return into;
+    }
+
+    public long getAvailabilityVersion() {
+        return availabilityBoard.getVersion();
+    }
+
+    public AvailabilitySnapshot getAvailabilitySnapshot() {
+        return readAvailability(new AvailabilitySnapshot());
+    }
+
+    public int getFreeCount(SpotType spotType) {
+        int count = 0;
+        for (ParkingFloor floor : floors) {
+            count += floor.getFreeCount(spotType);
+        }
+        return count;
+    }
+
+    public int getSpotCount(SpotType spotType) {
+        int count = 0;
+        for (ParkingFloor floor : floors) {
+            count += floor.getSpotCount(spotType);
+        }
+        return count;
+    }
+
+    // Read from the maintained counters, so it costs a few reads per floor rather than a spot scan
+    public double getOccupancyRatio(SpotType spotType) {
+        int total = getSpotCount(spotType);
+        return total == 0 ? 1.0 : 1.0 - (double) getFreeCount(spotType) / total;
+    }
+
+    // Cheap check from the maintained counters, so a full lot is detected without scanning spots
+    public boolean hasFreeSpotFor(Vehicle vehicle) {
+        for (SpotType spotType : vehicle.getType().getCompatibleSpotTypes()) {
+            if (getFreeCount(spotType) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Spot IDs encode the floor number and position, so a lookup only walks the floor list
+    public ParkingSpot findSpot(int spotId) {
+        if (spotId < 0) {
+            return null;
+        }
+        int floorNo = spotId / ParkingSpot.SPOTS_PER_FLOOR_LIMIT;
+        int index = spotId % ParkingSpot.SPOTS_PER_FLOOR_LIMIT;
+        for (ParkingFloor floor : floors) {
+            if (floor.getFloorNo() == floorNo) {
+                List<ParkingSpot> spots = floor.getSpots();
+                return index < spots.size() ? spots.get(index) : null;
+            }
+        }
+        return null;
+    }
+
     public List<ParkingFloor> getFloors() {
-        return new ArrayList<>(floors); // Return defensive copy
+        return Collections.unmodifiableList(floors); // Iteration sees a stable snapshot
     }
 
     public ISlotAllocationStrategy getAllocationStrategy() {
         return allocationStrategy;
     }
 
+    public void addSpotStateListener(ISpotStateListener listener) {
+        spotStateListeners.add(listener);
+    }
+
+    public void removeSpotStateListener(ISpotStateListener listener) {
+        spotStateListeners.remove(listener);
+    }
+
+    public void setOverstayMonitor(OverstayMonitor overstayMonitor) {
+        this.overstayMonitor = overstayMonitor;
+    }
+
+    public OverstayMonitor getOverstayMonitor() {
+        return overstayMonitor;
+    }
+
+    public void setPermitRegistry(PermitRegistry permitRegistry) {
+        this.permitRegistry = permitRegistry;
+    }
+
+    public PermitRegistry getPermitRegistry() {
+        return permitRegistry;
+    }
+
+    // Shared by entry and every exit gate built from this lot; a strategy that also quotes rates
+    // (IRateQuoteStrategy) has the quoted rate locked into each ticket at entry
+    public void setPricingStrategy(IPricingStrategy pricingStrategy) {
+        this.pricingStrategy = pricingStrategy;
+    }
+
+    public IPricingStrategy getPricingStrategy() {
+        return pricingStrategy;
+    }
+
+    public void addTenantZone(TenantZone zone) {
+        tenantZones.put(zone.getTenantId(), zone);
+    }
+
+    public TenantZone getTenantZone(String tenantId) {
+        return tenantZones.get(tenantId);
+    }
+
+    public SpotWaitlist getWaitlist() {
+        return waitlist;
+    }
+
     public List<EntryGate> getEntryGates() {
         return new ArrayList<>(entryGates);
     }
@@ -49,4 +181,96 @@ public class ParkingLot {
     public List<ExitGate> getExitGates() {
         return new ArrayList<>(exitGates);
     }
+
+    // Holds a spot for a vehicle that is on its way, e.g. one routed here from another lot
+    public SpotReservation reserveSpot(Vehicle vehicle) {
+        if (!hasFreeSpotFor(vehicle)) {
+            return null;
+        }
+        // A lost race means someone else parked, so keep going until the search finds nothing
+        while (true) {
+            ParkingSpot spot = allocationStrategy.findSpot(this, vehicle);
+            if (spot == null) {
+                return null;
+            }
+            if (spot.tryPark(vehicle)) {
+                return new SpotReservation(this, vehicle, spot);
+            }
+        }
+    }
+
+    // Single place where tickets are created, so every open ticket gets its overstay deadline and entry rate
+    Ticket issueTicket(Vehicle vehicle, ParkingSpot spot) {
+        Ticket ticket = new Ticket(vehicle, spot, spot.canCharge(vehicle));
+        IRateQuoteStrategy quoting = findRateQuoteStrategy(pricingStrategy);
+        if (quoting != null) {
+            ticket.lockHourlyRate(quoting.quoteHourlyRate(spot));
+        }
+        OverstayMonitor monitor = overstayMonitor;
+        if (monitor != null) {
+            monitor.track(ticket);
+        }
+        return ticket;
+    }
+
+    // The quoting strategy may sit under discounts or other wrappers; it still bills from the locked rate
+    private static IRateQuoteStrategy findRateQuoteStrategy(IPricingStrategy pricing) {
+        while (pricing != null) {
+            if (pricing instanceof IRateQuoteStrategy) {
+                return (IRateQuoteStrategy) pricing;
+            }
+            pricing = pricing instanceof IPricingDecorator ? ((IPricingDecorator) pricing).getBaseStrategy() : null;
+        }
+        return null;
+    }
+
+    @Override
+    public void onSpotOccupied(ParkingSpot spot) {
+        for (ISpotStateListener listener : spotStateListeners) {
+            listener.onSpotOccupied(spot);
+        }
+    }
+
+    @Override
+    public void onSpotVacated(ParkingSpot spot) {
+        OverstayMonitor monitor = overstayMonitor;
+        if (monitor != null) {
+            monitor.release(spot);
+        }
+        for (ISpotStateListener listener : spotStateListeners) {
+            listener.onSpotVacated(spot);
+        }
+        offerToWaitlist(spot);
+    }
+
+    @Override
+    public void onSpotUpdated(ParkingSpot spot) {
+        for (ISpotStateListener listener : spotStateListeners) {
+            listener.onSpotUpdated(spot);
+        }
+    }
+
+    // Hands a freed spot straight to the longest-waiting compatible vehicle
+    private void offerToWaitlist(ParkingSpot spot) {
+        // Tenant bays never go to the public queue
+        if (!spot.isAvailable() || spot.getZone() != null || !waitlist.hasWaiters(spot.getSpotType())) {
+            return;
+        }
+
+        WaitlistRequest request = waitlist.claimFor(spot);
+        if (request == null) {
+            return;
+        }
+
+        Vehicle vehicle = request.getVehicle();
+        if (!spot.tryPark(vehicle)) {
+            waitlist.requeue(request);
+            return;
+        }
+
+        Ticket ticket = issueTicket(vehicle, spot);
+        if (!request.getFuture().complete(ticket)) {
+            spot.vacate(); // Request was cancelled while the spot was being handed over
+        }
+    }
 }
\ No newline at end of file
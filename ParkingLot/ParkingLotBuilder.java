@@ -1,5 +1,7 @@
-import java.util.Map;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class ParkingLotBuilder {
     private int noOfFloors;
@@ -42,6 +44,7 @@ public class ParkingLotBuilder {
         // Create floors and spots
         for (int floorNum = 1; floorNum <= noOfFloors; floorNum++) {
             ParkingFloor floor = new ParkingFloor(floorNum);
+            List<ParkingSpot> spots = new ArrayList<>();
             
             // Add spots to each floor
             for (Map.Entry<SpotType, Integer> entry : spotsPerFloor.entrySet()) {
@@ -50,18 +53,19 @@ public class ParkingLotBuilder {
                 
                 for (int i = 0; i < count; i++) {
                     boolean hasCharging = (spotType == SpotType.ELECTRIC);
-                    ParkingSpot spot = new ParkingSpot(spotType, hasCharging);
-                    floor.addSpot(spot);
+                    spots.add(new ParkingSpot(spotType, hasCharging));
                 }
             }
+            floor.addSpots(spots);
             
             parkingLot.addFloor(floor);
         }
 
         // Add default gates if pricing strategy is provided
         if (pricingStrategy != null) {
+            parkingLot.setPricingStrategy(pricingStrategy);
             EntryGate entryGate = new EntryGate(1, parkingLot);
-            ExitGate exitGate = new ExitGate(1, pricingStrategy);
+            ExitGate exitGate = new ExitGate(1, parkingLot);
             
             parkingLot.addEntryGate(entryGate);
             parkingLot.addExitGate(exitGate);
@@ -0,0 +1,309 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives seeded concurrent entry/exit workloads against one lot and checks its invariants:
+// no spot is ever held by two tickets at once, free counters match the spots, and every open
+// ticket points at a spot holding its vehicle. Only a full lot may refuse an entry; any other exception
+// from a gate is a violation. Exits with status 1 on any violation; check.sh runs it as the build check.
+//
+// Usage: java ParkingLotStressHarness [threads] [rounds] [opsPerRound] [seed]
+public class ParkingLotStressHarness {
+    private static final int ENTER = 0;
+    private static final int EXIT = 1;
+    private static final int REJECTED = 2;
+    // History events are {kind, spotId, invokedAt, respondedAt, ticketKey}
+
+    private final int threads;
+    private final int rounds;
+    private final int opsPerRound;
+    private final long seed;
+    private final ParkingLot parkingLot;
+    private final AtomicLong clock; // Logical time shared by all threads, orders invocations and responses
+    private final List<List<long[]>> histories;
+    private final List<List<Ticket>> openTickets;
+    private final ConcurrentLinkedQueue<String> violations;
+
+    public ParkingLotStressHarness(int threads, int rounds, int opsPerRound, long seed) {
+        this.threads = threads;
+        this.rounds = rounds;
+        this.opsPerRound = opsPerRound;
+        this.seed = seed;
+        this.parkingLot = createParkingLot();
+        this.clock = new AtomicLong();
+        this.histories = new ArrayList<>();
+        this.openTickets = new ArrayList<>();
+        this.violations = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < threads; i++) {
+            histories.add(new ArrayList<>());
+            openTickets.add(new ArrayList<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int opsPerRound = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        ParkingLotStressHarness harness = new ParkingLotStressHarness(threads, rounds, opsPerRound, seed);
+        boolean passed = harness.run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    public boolean run() throws InterruptedException {
+        System.out.println("=== Parking Lot Stress: " + threads + " threads, " + rounds + " rounds x "
+                + opsPerRound + " ops, seed " + seed + " ===");
+
+        // Quiescent invariants are checked by the barrier action while every worker is parked
+        CyclicBarrier barrier = new CyclicBarrier(threads, this::checkQuiescentInvariants);
+        startSpotCaches();
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            int workerId = i;
+            Thread worker = new Thread(() -> runWorker(workerId, barrier), "stress-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        stopSpotCaches();
+
+        checkHistory();
+
+        long operations = (long) threads * rounds * opsPerRound;
+        System.out.printf("Operations: %d in %d ms (%.0f ops/sec)%n", operations, elapsedNanos / 1_000_000,
+                operations / (elapsedNanos / 1e9));
+        if (violations.isEmpty()) {
+            System.out.println("All invariants held");
+            return true;
+        }
+        System.out.println(violations.size() + " violation(s):");
+        violations.stream().limit(20).forEach(violation -> System.out.println("  " + violation));
+        return false;
+    }
+
+    private void runWorker(int workerId, CyclicBarrier barrier) {
+        Random random = new Random(seed * 31 + workerId);
+        List<long[]> history = histories.get(workerId);
+        List<Ticket> open = openTickets.get(workerId);
+        EntryGate entryGate = parkingLot.getEntryGates().get(workerId % parkingLot.getEntryGates().size());
+        ExitGate exitGate = parkingLot.getExitGates().get(workerId % parkingLot.getExitGates().size());
+        Map<Ticket, Long> ticketKeys = new IdentityHashMap<>();
+        int vehicleCount = 0;
+
+        try {
+            for (int round = 0; round < rounds; round++) {
+                for (int op = 0; op < opsPerRound; op++) {
+                    int roll = random.nextInt(100);
+                    if (!open.isEmpty() && roll < 5) {
+                        // Occasional burst through the batch entry path
+                        List<Vehicle> burst = new ArrayList<>();
+                        for (int i = 1 + random.nextInt(8); i > 0; i--) {
+                            burst.add(randomVehicle(random, workerId + "-" + vehicleCount++));
+                        }
+                        long invoked = clock.incrementAndGet();
+                        List<Ticket> tickets = entryGate.generateTickets(burst);
+                        long responded = clock.incrementAndGet();
+                        for (int i = 0; i < tickets.size(); i++) {
+                            Ticket ticket = tickets.get(i);
+                            if (ticket == null) {
+                                history.add(new long[] {REJECTED, -1, invoked, responded, -1});
+                            } else if (ticket.getVehicle() != burst.get(i)) {
+                                violations.add("Batch ticket " + i + " issued to " + ticket.getVehicle().getVehicleNo()
+                                        + " instead of " + burst.get(i).getVehicleNo());
+                            } else {
+                                recordEntry(workerId, ticket, invoked, responded, ticketKeys);
+                            }
+                        }
+                    } else if (open.isEmpty() || roll < 55) {
+                        Vehicle vehicle = randomVehicle(random, workerId + "-" + vehicleCount++);
+                        long invoked = clock.incrementAndGet();
+                        try {
+                            Ticket ticket = entryGate.generateTicket(vehicle);
+                            recordEntry(workerId, ticket, invoked, clock.incrementAndGet(), ticketKeys);
+                        } catch (NoSpotAvailableException e) {
+                            history.add(new long[] {REJECTED, -1, invoked, clock.incrementAndGet(), -1});
+                        } catch (RuntimeException e) {
+                            violations.add("Entry of " + vehicle.getVehicleNo() + " threw " + e);
+                        }
+                    } else {
+                        Ticket ticket = open.remove(random.nextInt(open.size()));
+                        long invoked = clock.incrementAndGet();
+                        exitGate.processExit(ticket);
+                        long responded = clock.incrementAndGet();
+                        history.add(new long[] {EXIT, ticket.getSpot().getSpotId(), invoked, responded,
+                                ticketKeys.remove(ticket)});
+                    }
+                }
+                barrier.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (BrokenBarrierException e) {
+            violations.add("Barrier broken: " + e.getMessage());
+        } catch (RuntimeException e) {
+            violations.add("Worker " + workerId + " failed: " + e);
+            barrier.reset(); // Release the other workers rather than leave them waiting for this one
+        }
+    }
+
+    private void recordEntry(int workerId, Ticket ticket, long invoked, long responded, Map<Ticket, Long> ticketKeys) {
+        List<long[]> history = histories.get(workerId);
+        long key = ((long) workerId << 32) | history.size(); // Unique: every event grows the history
+        openTickets.get(workerId).add(ticket);
+        ticketKeys.put(ticket, key);
+        history.add(new long[] {ENTER, ticket.getSpot().getSpotId(), invoked, responded, key});
+    }
+
+    private void startSpotCaches() {
+        for (EntryGate entryGate : parkingLot.getEntryGates()) {
+            if (entryGate.getSpotCache() != null) {
+                entryGate.getSpotCache().start(1);
+            }
+        }
+    }
+
+    private void stopSpotCaches() {
+        try {
+            for (EntryGate entryGate : parkingLot.getEntryGates()) {
+                if (entryGate.getSpotCache() != null) {
+                    entryGate.getSpotCache().stop();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkQuiescentInvariants() {
+        stopSpotCaches(); // Refills would race the spot scan below
+        AvailabilitySnapshot snapshot = parkingLot.getAvailabilitySnapshot();
+        int floorIndex = 0;
+        for (ParkingFloor floor : parkingLot.getFloors()) {
+            for (SpotType spotType : SpotType.values()) {
+                int actual = 0;
+                for (ParkingSpot spot : floor.getSpots()) {
+                    // Held spots stay counted as free; tenant bays are counted in their zone, not on the floor
+                    if (spot.getZone() == null && !spot.isClosed() && spot.getCurrentVehicle() == null
+                            && spot.getSpotType() == spotType) {
+                        actual++;
+                    }
+                }
+                if (floor.getFreeCount(spotType) != actual) {
+                    violations.add("Floor " + floor.getFloorNo() + " " + spotType + " counter "
+                            + floor.getFreeCount(spotType) + " but " + actual + " spots free");
+                }
+                if (snapshot.getFreeCount(floorIndex, spotType) != actual) {
+                    violations.add("Board floor " + floor.getFloorNo() + " " + spotType + " shows "
+                            + snapshot.getFreeCount(floorIndex, spotType) + " but " + actual + " spots free");
+                }
+            }
+            floorIndex++;
+        }
+
+        for (List<Ticket> open : openTickets) {
+            for (Ticket ticket : open) {
+                if (ticket.getSpot().getCurrentVehicle() != ticket.getVehicle()) {
+                    violations.add("Open ticket for " + ticket.getVehicle().getVehicleNo()
+                            + " points at spot " + ticket.getSpot().getSpotId() + " not holding it");
+                }
+            }
+        }
+        startSpotCaches();
+    }
+
+    // A ticket certainly holds its spot from its entry response until its exit invocation;
+    // two such windows overlapping on one spot means the spot was double parked.
+    private void checkHistory() {
+        Map<Long, long[]> holds = new HashMap<>(); // ticketKey -> {spotId, enterResponse, exitInvoke}
+        for (List<long[]> history : histories) {
+            for (long[] event : history) {
+                if (event[0] == ENTER) {
+                    holds.put(event[4], new long[] {event[1], event[3], Long.MAX_VALUE});
+                }
+            }
+        }
+        for (List<long[]> history : histories) {
+            for (long[] event : history) {
+                if (event[0] == EXIT) {
+                    holds.get(event[4])[2] = event[2];
+                }
+            }
+        }
+
+        Map<Long, List<long[]>> bySpot = new HashMap<>();
+        for (long[] hold : holds.values()) {
+            bySpot.computeIfAbsent(hold[0], spotId -> new ArrayList<>()).add(hold);
+        }
+        for (Map.Entry<Long, List<long[]>> entry : bySpot.entrySet()) {
+            List<long[]> spotHolds = entry.getValue();
+            spotHolds.sort(Comparator.comparingLong(hold -> hold[1]));
+            long latestRelease = Long.MIN_VALUE;
+            for (long[] hold : spotHolds) {
+                if (hold[1] < latestRelease) {
+                    violations.add("Spot " + entry.getKey() + " granted at t=" + hold[1]
+                            + " while still held until t=" + latestRelease);
+                }
+                latestRelease = Math.max(latestRelease, hold[2]);
+            }
+        }
+        System.out.println("History: " + holds.size() + " tickets over " + bySpot.size() + " spots checked");
+    }
+
+    private static Vehicle randomVehicle(Random random, String vehicleNo) {
+        int roll = random.nextInt(10);
+        if (roll < 5) {
+            return new Car(vehicleNo);
+        }
+        if (roll < 7) {
+            return new Bike(vehicleNo);
+        }
+        if (roll < 9) {
+            ElectricBike electricBike = new ElectricBike(vehicleNo);
+            electricBike.setWantsCharging(random.nextBoolean());
+            return electricBike;
+        }
+        return new Bus(vehicleNo);
+    }
+
+    private static ParkingLot createParkingLot() {
+        Map<SpotType, Integer> spotsConfig = new HashMap<>();
+        spotsConfig.put(SpotType.SMALL, 20);
+        spotsConfig.put(SpotType.MEDIUM, 40);
+        spotsConfig.put(SpotType.LARGE, 8);
+        spotsConfig.put(SpotType.ELECTRIC, 6);
+
+        // Small on purpose so gates keep colliding on the last free spots
+        ParkingLot parkingLot = new ParkingLotBuilder()
+                .setFloors(3)
+                .setSpotsPerFloor(spotsConfig)
+                .setAllocationStrategy(new NearestSlotStrategy())
+                .setPricingStrategy(new HourlyPricingStrategy(10.0))
+                .build();
+        for (int gate = 2; gate <= 4; gate++) {
+            EntryGate entryGate = new EntryGate(gate, parkingLot);
+            if (gate % 2 == 0) {
+                // Half the gates pop pre-claimed spots while their caches refill concurrently
+                Map<SpotType, Integer> lookahead = new HashMap<>();
+                lookahead.put(SpotType.SMALL, 2);
+                lookahead.put(SpotType.MEDIUM, 4);
+                entryGate.setSpotCache(new GateSpotCache(parkingLot, lookahead, 0.9, 1000));
+            }
+            parkingLot.addEntryGate(entryGate);
+            parkingLot.addExitGate(new ExitGate(gate, new HourlyPricingStrategy(10.0)));
+        }
+        return parkingLot;
+    }
+}
\ No newline at end of file
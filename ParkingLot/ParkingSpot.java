@@ -1,33 +1,224 @@
 public class ParkingSpot {
-    private final SpotType spotType;
-    private boolean isAvailable;
+    // Spot IDs are floorNo * SPOTS_PER_FLOOR_LIMIT + position on the floor, so they survive restarts
+    public static final int SPOTS_PER_FLOOR_LIMIT = 10_000;
+    private static final Object OPERATOR = new Object();
+
+    private volatile int spotId; // -1 until the spot is added to a floor
+    private volatile int index;
+    private volatile SpotType spotType;
+    private volatile boolean isAvailable;
     private Vehicle currentVehicle;
-    private final boolean hasChargingPoint;
+    private volatile boolean hasChargingPoint;
+    private boolean closed;
+    private Object closedBy; // Who owns the closure; only they, or an operator, may reopen it
+    private Object holder; // Set while an entry gate has pre-claimed the empty spot
+    private volatile ParkingFloor floor;
+    private volatile TenantZone zone; // Null for public spots
 
     public ParkingSpot(SpotType spotType, boolean hasChargingPoint) {
+        this.spotId = -1;
+        this.index = -1;
         this.spotType = spotType;
         this.hasChargingPoint = hasChargingPoint;
         this.isAvailable = true;
         this.currentVehicle = null;
+        this.closed = false;
     }
 
     public void parkVehicle(Vehicle vehicle) {
-        if (!isAvailable) {
-            throw new IllegalStateException("Spot is already occupied");
+        if (!tryPark(vehicle)) {
+            throw new IllegalStateException("Spot is not free for this vehicle");
+        }
+    }
+
+    // Claims the spot only if it is still free and still fits; a retype since the search counts as a lost race
+    public boolean tryPark(Vehicle vehicle) {
+        synchronized (this) {
+            if (!isAvailable || !isCompatibleWith(vehicle)) {
+                return false;
+            }
+            this.currentVehicle = vehicle;
+            this.isAvailable = false;
+            adjustFreeCount(spotType, -1);
+        }
+
+        ParkingFloor owner = floor;
+        if (owner != null) {
+            owner.onSpotOccupied(this);
+        }
+        return true;
+    }
+
+    // Reserves a free spot for a gate to hand out later. No vehicle is parked yet, so the spot stays in the
+    // free counters: counters track open, empty spots, and only the search skips held ones.
+    boolean tryHold(Object newHolder) {
+        synchronized (this) {
+            if (!isAvailable) {
+                return false;
+            }
+            this.holder = newHolder;
+            this.isAvailable = false;
+        }
+
+        notifyUpdated();
+        return true;
+    }
+
+    // Parks into a spot this holder pre-claimed
+    boolean parkHeld(Object expectedHolder, Vehicle vehicle) {
+        synchronized (this) {
+            if (holder != expectedHolder || closed || !isCompatibleWith(vehicle)) {
+                return false;
+            }
+            this.holder = null;
+            this.currentVehicle = vehicle;
+            adjustFreeCount(spotType, -1);
+        }
+
+        ParkingFloor owner = floor;
+        if (owner != null) {
+            owner.onSpotOccupied(this);
         }
-        this.currentVehicle = vehicle;
-        this.isAvailable = false;
+        return true;
+    }
+
+    // Gives a held spot back to the lot; a spot closed while held stays out of service
+    void releaseHold(Object expectedHolder) {
+        synchronized (this) {
+            if (holder != expectedHolder) {
+                return;
+            }
+            this.holder = null;
+            if (closed) {
+                return;
+            }
+            this.isAvailable = true;
+        }
+
+        notifyAvailable();
     }
 
     public void vacate() {
-        this.currentVehicle = null;
-        this.isAvailable = true;
+        synchronized (this) {
+            if (currentVehicle == null) {
+                return;
+            }
+            this.currentVehicle = null;
+            // A spot closed while occupied stays out of service once the vehicle leaves
+            if (!closed) {
+                this.isAvailable = true;
+                adjustFreeCount(spotType, 1);
+            }
+        }
+
+        notifyAvailable();
+    }
+
+    // Takes the spot out of service; an occupied spot closes once its vehicle leaves
+    public void close() {
+        close(OPERATOR);
     }
 
-    public Vehicle getCurrentVehicle() {
+    // Operators can reopen a spot whoever closed it
+    public void reopen() {
+        reopen(OPERATOR);
+    }
+
+    // Returns true only if this call closed the spot. An operator closing an already closed spot takes the
+    // closure over, so whoever closed it first can no longer reopen it.
+    boolean close(Object closer) {
+        synchronized (this) {
+            if (closed) {
+                if (closer == OPERATOR) {
+                    this.closedBy = OPERATOR;
+                }
+                return false;
+            }
+            this.closed = true;
+            this.closedBy = closer;
+            this.isAvailable = false;
+            if (currentVehicle == null) {
+                adjustFreeCount(spotType, -1); // Held or not, an empty open spot was counted free
+            }
+        }
+
+        notifyUpdated();
+        return true;
+    }
+
+    // Reopens only a closure the caller owns, unless the caller is an operator
+    boolean reopen(Object closer) {
+        synchronized (this) {
+            if (!closed || (closer != OPERATOR && closedBy != closer)) {
+                return false;
+            }
+            this.closed = false;
+            this.closedBy = null;
+            if (currentVehicle == null) {
+                this.isAvailable = holder == null;
+                adjustFreeCount(spotType, 1);
+            }
+        }
+
+        notifyUpdated();
+        if (isAvailable) {
+            notifyAvailable();
+        }
+        return true;
+    }
+
+    // Converts the spot in place, e.g. MEDIUM to ELECTRIC; a parked vehicle is not disturbed
+    public void retype(SpotType newType, boolean chargingPoint) {
+        synchronized (this) {
+            SpotType oldType = this.spotType;
+            if (oldType != newType) {
+                adjustSpotCount(oldType, -1);
+                adjustSpotCount(newType, 1);
+                if (!closed && currentVehicle == null) {
+                    transferFreeCount(oldType, newType);
+                }
+            }
+            this.spotType = newType;
+            this.hasChargingPoint = chargingPoint;
+        }
+
+        notifyUpdated();
+        if (isAvailable) {
+            notifyAvailable();
+        }
+    }
+
+    public boolean isCompatibleWith(Vehicle vehicle) {
+        // Electric vehicles that want charging can only use spots with a charging point
+        if (vehicle instanceof IElectricVehicle) {
+            IElectricVehicle electricVehicle = (IElectricVehicle) vehicle;
+            if (electricVehicle.wantsCharging() && !hasChargingPoint) {
+                return false;
+            }
+        }
+        return vehicle.getType().fits(spotType);
+    }
+
+    public boolean canCharge(Vehicle vehicle) {
+        if (vehicle instanceof IElectricVehicle) {
+            return ((IElectricVehicle) vehicle).wantsCharging() && hasChargingPoint;
+        }
+        return false;
+    }
+
+    public synchronized Vehicle getCurrentVehicle() {
         return currentVehicle;
     }
 
+    public int getSpotId() {
+        return spotId;
+    }
+
+    // Position on the floor, in the order spots were added
+    public int getIndex() {
+        return index;
+    }
+
     public SpotType getSpotType() {
         return spotType;
     }
@@ -36,7 +227,107 @@ public class ParkingSpot {
         return isAvailable;
     }
 
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized boolean isHeld() {
+        return holder != null;
+    }
+
     public boolean hasChargingPoint() {
         return hasChargingPoint;
     }
+
+    public ParkingFloor getFloor() {
+        return floor;
+    }
+
+    public TenantZone getZone() {
+        return zone;
+    }
+
+    // Moves the spot's counts out of the floor's public counters and into the zone's
+    synchronized boolean assignZone(TenantZone newZone) {
+        if (zone != null) {
+            return zone == newZone;
+        }
+        boolean countedFree = !closed && currentVehicle == null;
+        adjustSpotCount(spotType, -1);
+        if (countedFree) {
+            adjustFreeCount(spotType, -1);
+        }
+        this.zone = newZone;
+        adjustSpotCount(spotType, 1);
+        if (countedFree) {
+            adjustFreeCount(spotType, 1);
+        }
+        return true;
+    }
+
+    // Called by the floor with the spot lock held; counts the spot in once it has somewhere to be counted
+    void setFloor(ParkingFloor floor, int index) {
+        this.floor = floor;
+        this.index = index;
+        this.spotId = floor.getFloorNo() * SPOTS_PER_FLOOR_LIMIT + index;
+        adjustSpotCount(spotType, 1);
+        if (!closed && currentVehicle == null) {
+            adjustFreeCount(spotType, 1);
+        }
+    }
+
+    // The helpers below are called with the spot lock held so counters always change in the same order as
+    // spot state. Tenant bays are counted in their zone, never in the floor's public counters.
+    private void adjustFreeCount(SpotType type, int delta) {
+        ParkingFloor owner = floor;
+        if (owner == null) {
+            return;
+        }
+        TenantZone tenant = zone;
+        if (tenant != null) {
+            tenant.adjustFreeCount(type, delta);
+        } else {
+            owner.adjustFreeCount(type, delta);
+        }
+    }
+
+    private void adjustSpotCount(SpotType type, int delta) {
+        ParkingFloor owner = floor;
+        if (owner == null) {
+            return;
+        }
+        TenantZone tenant = zone;
+        if (tenant != null) {
+            tenant.adjustSpotCount(type, delta);
+        } else {
+            owner.adjustSpotCount(type, delta);
+        }
+    }
+
+    private void transferFreeCount(SpotType from, SpotType to) {
+        ParkingFloor owner = floor;
+        if (owner == null) {
+            return;
+        }
+        TenantZone tenant = zone;
+        if (tenant != null) {
+            tenant.transferFreeCount(from, to);
+        } else {
+            owner.transferFreeCount(from, to);
+        }
+    }
+
+    private void notifyAvailable() {
+        ParkingFloor owner = floor;
+        if (owner != null) {
+            owner.onSpotVacated(this);
+        }
+    }
+
+    private void notifyUpdated() {
+        ParkingFloor owner = floor;
+        if (owner != null) {
+            owner.onSpotUpdated(this);
+        }
+    }
 }
\ No newline at end of file
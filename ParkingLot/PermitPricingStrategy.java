@@ -0,0 +1,33 @@
+// Applies the pass-holder discount on top of another pricing strategy; a discount of 1.0 parks for free
+public class PermitPricingStrategy implements IPricingDecorator {
+    private final IPricingStrategy baseStrategy;
+    private final PermitRegistry permitRegistry;
+    private final double passHolderDiscount;
+
+    public PermitPricingStrategy(IPricingStrategy baseStrategy, PermitRegistry permitRegistry, double passHolderDiscount) {
+        if (passHolderDiscount < 0 || passHolderDiscount > 1) {
+            throw new IllegalArgumentException("Discount must be between 0 and 1");
+        }
+        this.baseStrategy = baseStrategy;
+        this.permitRegistry = permitRegistry;
+        this.passHolderDiscount = passHolderDiscount;
+    }
+
+    @Override
+    public double calculatePrice(Ticket ticket) {
+        double basePrice = baseStrategy.calculatePrice(ticket);
+        if (permitRegistry.isPassHolder(ticket.getVehicle().getVehicleNo())) {
+            return basePrice * (1 - passHolderDiscount);
+        }
+        return basePrice;
+    }
+
+    @Override
+    public IPricingStrategy getBaseStrategy() {
+        return baseStrategy;
+    }
+
+    public double getPassHolderDiscount() {
+        return passHolderDiscount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// Season-pass and blocklist lookup by plate; a Bloom filter answers the common "no permit" case
+public class PermitRegistry {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAX_ENCODED_CHARS = 12; // 37^12 still fits in a long
+
+    private volatile Snapshot snapshot;
+
+    public PermitRegistry() {
+        this.snapshot = new Snapshot(Collections.emptyList(), Collections.emptyList());
+    }
+
+    // Builds the new tables off to the side, then swaps them in so gates never see a partial list
+    public void reload(Collection<String> passHolders, Collection<String> blocklisted) {
+        this.snapshot = new Snapshot(passHolders, blocklisted);
+    }
+
+    public PermitStatus check(String vehicleNo) {
+        Snapshot current = snapshot;
+        long key = encode(vehicleNo);
+
+        if (key != 0) {
+            if (!current.filter.mightContain(key)) {
+                return PermitStatus.NONE;
+            }
+            if (current.blocklisted.contains(key)) {
+                return PermitStatus.BLOCKLISTED;
+            }
+            return current.passHolders.contains(key) ? PermitStatus.PASS_HOLDER : PermitStatus.NONE;
+        }
+
+        // Plates too long to pack into a long fall back to string sets
+        String plate = normalize(vehicleNo);
+        if (!current.filter.mightContain(hash(plate))) {
+            return PermitStatus.NONE;
+        }
+        if (current.longBlocklisted.contains(plate)) {
+            return PermitStatus.BLOCKLISTED;
+        }
+        return current.longPassHolders.contains(plate) ? PermitStatus.PASS_HOLDER : PermitStatus.NONE;
+    }
+
+    public boolean isPassHolder(String vehicleNo) {
+        return check(vehicleNo) == PermitStatus.PASS_HOLDER;
+    }
+
+    public boolean isBlocklisted(String vehicleNo) {
+        return check(vehicleNo) == PermitStatus.BLOCKLISTED;
+    }
+
+    public int getPassHolderCount() {
+        Snapshot current = snapshot;
+        return current.passHolders.size() + current.longPassHolders.size();
+    }
+
+    public int getBlocklistedCount() {
+        Snapshot current = snapshot;
+        return current.blocklisted.size() + current.longBlocklisted.size();
+    }
+
+    // Packs the upper-cased alphanumerics of a plate in base 37; 0 means it does not fit
+    static long encode(String vehicleNo) {
+        long key = 0;
+        int chars = 0;
+        for (int i = 0; i < vehicleNo.length(); i++) {
+            int digit = digitOf(vehicleNo.charAt(i));
+            if (digit == 0) {
+                continue; // Separators such as '-' or ' ' are not significant
+            }
+            if (++chars > MAX_ENCODED_CHARS) {
+                return 0;
+            }
+            key = key * 37 + digit;
+        }
+        return key;
+    }
+
+    static String normalize(String vehicleNo) {
+        StringBuilder sb = new StringBuilder(vehicleNo.length());
+        for (int i = 0; i < vehicleNo.length(); i++) {
+            char c = vehicleNo.charAt(i);
+            if (digitOf(c) != 0) {
+                sb.append(Character.toUpperCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int digitOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return 1 + (c - '0');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 11 + (c - 'A');
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 11 + (c - 'a');
+        }
+        return 0;
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(String plate) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < plate.length(); i++) {
+            hash ^= plate.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static class Snapshot {
+        private final BloomFilter filter;
+        private final LongHashSet passHolders;
+        private final LongHashSet blocklisted;
+        private final Set<String> longPassHolders;
+        private final Set<String> longBlocklisted;
+
+        Snapshot(Collection<String> passPlates, Collection<String> blockedPlates) {
+            this.filter = new BloomFilter(passPlates.size() + blockedPlates.size(), FALSE_POSITIVE_RATE);
+            this.passHolders = new LongHashSet(passPlates.size());
+            this.blocklisted = new LongHashSet(blockedPlates.size());
+            this.longPassHolders = new HashSet<>();
+            this.longBlocklisted = new HashSet<>();
+
+            for (String plate : passPlates) {
+                add(plate, passHolders, longPassHolders);
+            }
+            for (String plate : blockedPlates) {
+                add(plate, blocklisted, longBlocklisted);
+            }
+        }
+
+        private void add(String vehicleNo, LongHashSet encodedPlates, Set<String> longPlates) {
+            long key = encode(vehicleNo);
+            if (key != 0) {
+                filter.add(key);
+                encodedPlates.add(key);
+            } else {
+                String plate = normalize(vehicleNo);
+                filter.add(hash(plate));
+                longPlates.add(plate);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+public enum PermitStatus {
+    NONE,
+    PASS_HOLDER,
+    BLOCKLISTED
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+public class RelocationSuggestion {
+    private final Vehicle vehicle;
+    private final ParkingSpot fromSpot;
+    private final ParkingSpot toSpot;
+
+    public RelocationSuggestion(Vehicle vehicle, ParkingSpot fromSpot, ParkingSpot toSpot) {
+        this.vehicle = vehicle;
+        this.fromSpot = fromSpot;
+        this.toSpot = toSpot;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public ParkingSpot getFromSpot() {
+        return fromSpot;
+    }
+
+    public ParkingSpot getToSpot() {
+        return toSpot;
+    }
+
+    @Override
+    public String toString() {
+        return "Move " + vehicle.getVehicleNo() + " from " + fromSpot.getSpotType() + " spot " + fromSpot.getSpotId()
+                + " to " + toSpot.getSpotType() + " spot " + toSpot.getSpotId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Fixed-size ring of min/max/sum buckets at one resolution, one column per series
+public class RollupRing {
+    private final long resolutionMillis;
+    private final int capacity;
+    private final int seriesCount;
+    private final long[] bucketIds; // time / resolution of the bucket held in each slot, -1 if unused
+    private final int[] sampleCounts;
+    private final int[] mins;
+    private final int[] maxs;
+    private final long[] sums;
+
+    public RollupRing(long resolutionMillis, int capacity, int seriesCount) {
+        this.resolutionMillis = resolutionMillis;
+        this.capacity = capacity;
+        this.seriesCount = seriesCount;
+        this.bucketIds = new long[capacity];
+        this.sampleCounts = new int[capacity];
+        this.mins = new int[capacity * seriesCount];
+        this.maxs = new int[capacity * seriesCount];
+        this.sums = new long[capacity * seriesCount];
+        Arrays.fill(bucketIds, -1);
+    }
+
+    public void add(long timeMillis, int[] values) {
+        long bucketId = timeMillis / resolutionMillis;
+        int slot = (int) (bucketId % capacity);
+        int base = slot * seriesCount;
+
+        // Reusing a slot drops the bucket it held one full ring ago
+        if (bucketIds[slot] != bucketId) {
+            bucketIds[slot] = bucketId;
+            sampleCounts[slot] = 0;
+            Arrays.fill(mins, base, base + seriesCount, Integer.MAX_VALUE);
+            Arrays.fill(maxs, base, base + seriesCount, Integer.MIN_VALUE);
+            Arrays.fill(sums, base, base + seriesCount, 0);
+        }
+
+        sampleCounts[slot]++;
+        for (int series = 0; series < seriesCount; series++) {
+            int value = values[series];
+            mins[base + series] = Math.min(mins[base + series], value);
+            maxs[base + series] = Math.max(maxs[base + series], value);
+            sums[base + series] += value;
+        }
+    }
+
+    public boolean covers(long fromMillis, long nowMillis) {
+        long oldestBucket = nowMillis / resolutionMillis - capacity + 1;
+        return oldestBucket * resolutionMillis <= fromMillis;
+    }
+
+    public void query(int series, long fromMillis, long toMillis, List<OccupancyPoint> into) {
+        long firstBucket = Math.max(fromMillis / resolutionMillis, toMillis / resolutionMillis - capacity + 1);
+        for (long bucketId = firstBucket; bucketId <= toMillis / resolutionMillis; bucketId++) {
+            int slot = (int) (bucketId % capacity);
+            if (bucketIds[slot] != bucketId || sampleCounts[slot] == 0) {
+                continue; // No samples in that interval, e.g. while the recorder was stopped
+            }
+            int index = slot * seriesCount + series;
+            into.add(new OccupancyPoint(bucketId * resolutionMillis, mins[index], maxs[index],
+                    (double) sums[index] / sampleCounts[slot]));
+        }
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
\ No newline at end of file
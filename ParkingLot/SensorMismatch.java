@@ -0,0 +1,30 @@
+public class SensorMismatch {
+    private final ParkingSpot spot;
+    private final SensorMismatchType type;
+    private final Vehicle ticketedVehicle;
+    private final long detectedAtMillis;
+
+    public SensorMismatch(ParkingSpot spot, SensorMismatchType type, Vehicle ticketedVehicle, long detectedAtMillis) {
+        this.spot = spot;
+        this.type = type;
+        this.ticketedVehicle = ticketedVehicle;
+        this.detectedAtMillis = detectedAtMillis;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    public SensorMismatchType getType() {
+        return type;
+    }
+
+    // Null for unticketed occupancy
+    public Vehicle getTicketedVehicle() {
+        return ticketedVehicle;
+    }
+
+    public long getDetectedAtMillis() {
+        return detectedAtMillis;
+    }
+}
\ No newline at end of file
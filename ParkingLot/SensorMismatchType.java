@@ -0,0 +1,4 @@
+public enum SensorMismatchType {
+    UNTICKETED_OCCUPANCY, // Sensor sees a vehicle in a spot with no open ticket
+    TICKETED_SPOT_EMPTY   // Spot has an open ticket but the sensor sees it empty
+}
\ No newline at end of file
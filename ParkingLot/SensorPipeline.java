@@ -0,0 +1,248 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Batches bay sensor readings, debounces flapping sensors and reconciles them with ticket state
+public class SensorPipeline {
+    private static final int MAX_BATCH = 4096;
+
+    private final ParkingLot parkingLot;
+    private final ISensorMismatchListener listener;
+    private final long debounceMillis;
+    private final BlockingQueue<SensorReading> queue;
+    private final AtomicLong received;
+    private final AtomicLong dropped;
+    private final AtomicLong mismatches;
+    private final AtomicLong unknownSpots;
+
+    // Only the worker thread fills this buffer; processPending drains into its own
+    private final List<SensorReading> workerBatch;
+
+    // Everything below is guarded by this pipeline's lock
+    private final List<SensorReading> callerBatch;
+    private final Map<Integer, SensorState> sensorStates;
+    private final Set<SensorState> unconfirmed;
+    private final Map<Integer, ParkingSpot> spotsById;
+    private final Set<Integer> closedBySensor;
+    private long batches;
+    private long duplicates;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SensorPipeline(ParkingLot parkingLot, ISensorMismatchListener listener,
+                          long debounceMillis, int queueCapacity) {
+        this.parkingLot = parkingLot;
+        this.listener = listener;
+        this.debounceMillis = debounceMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.received = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.mismatches = new AtomicLong();
+        this.unknownSpots = new AtomicLong();
+        this.workerBatch = new ArrayList<>(MAX_BATCH);
+        this.callerBatch = new ArrayList<>(MAX_BATCH);
+        this.sensorStates = new HashMap<>();
+        this.unconfirmed = new LinkedHashSet<>();
+        this.spotsById = new HashMap<>();
+        this.closedBySensor = new HashSet<>();
+    }
+
+    // Never blocks the sensor gateway; readings are dropped and counted when the queue is full
+    public boolean submit(SensorReading reading) {
+        received.incrementAndGet();
+        if (queue.offer(reading)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "sensor-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join();
+        worker = null;
+    }
+
+    // Drains whatever is queued and confirms settled readings; for callers driving the pipeline themselves
+    public synchronized int processPending(long nowMillis) {
+        int processed = 0;
+        while (queue.drainTo(callerBatch, MAX_BATCH) > 0) {
+            processed += processBatch(callerBatch);
+        }
+        confirmSettled(nowMillis);
+        return processed;
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getMismatchCount() {
+        return mismatches.get();
+    }
+
+    // Readings for spot IDs this lot does not have; they are dropped without keeping any state
+    public long getUnknownSpotCount() {
+        return unknownSpots.get();
+    }
+
+    public synchronized long getBatchCount() {
+        return batches;
+    }
+
+    public synchronized long getDuplicateCount() {
+        return duplicates;
+    }
+
+    private void run() {
+        long pollMillis = Math.max(1, debounceMillis / 2);
+        while (running) {
+            try {
+                SensorReading first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    workerBatch.add(first);
+                    queue.drainTo(workerBatch, MAX_BATCH - 1);
+                    processBatch(workerBatch);
+                }
+                confirmSettled(System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized int processBatch(List<SensorReading> batch) {
+        int size = batch.size();
+        for (SensorReading reading : batch) {
+            if (findSpot(reading.getSpotId()) == null) {
+                unknownSpots.incrementAndGet();
+                continue;
+            }
+            SensorState state = sensorStates.computeIfAbsent(reading.getSpotId(), SensorState::new);
+            if (reading.getTimestampMillis() < state.lastTimestamp) {
+                duplicates++;
+                continue; // Out of order
+            }
+            state.lastTimestamp = reading.getTimestampMillis();
+
+            if (state.hasReading && state.latestOccupied == reading.isOccupied()) {
+                duplicates++;
+            } else {
+                // A flip restarts the debounce window, so a flapping sensor never confirms
+                state.hasReading = true;
+                state.latestOccupied = reading.isOccupied();
+                state.latestSince = reading.getTimestampMillis();
+            }
+
+            if (state.confirmedOccupied == null || state.confirmedOccupied != state.latestOccupied) {
+                unconfirmed.add(state);
+            } else {
+                unconfirmed.remove(state);
+            }
+        }
+        batch.clear();
+        batches++;
+        return size;
+    }
+
+    private synchronized void confirmSettled(long nowMillis) {
+        Iterator<SensorState> iterator = unconfirmed.iterator();
+        while (iterator.hasNext()) {
+            SensorState state = iterator.next();
+            if (nowMillis - state.latestSince < debounceMillis) {
+                continue;
+            }
+            iterator.remove();
+            state.confirmedOccupied = state.latestOccupied;
+            reconcile(state.spotId, state.latestOccupied, nowMillis);
+        }
+    }
+
+    private void reconcile(int spotId, boolean occupied, long nowMillis) {
+        ParkingSpot spot = findSpot(spotId);
+        if (spot == null) {
+            return;
+        }
+        Vehicle ticketedVehicle = spot.getCurrentVehicle();
+
+        if (occupied) {
+            if (ticketedVehicle == null) {
+                // Keep gates from sending a car to a bay that is physically taken
+                if (spot.close(this)) {
+                    closedBySensor.add(spotId);
+                }
+                report(new SensorMismatch(spot, SensorMismatchType.UNTICKETED_OCCUPANCY, null, nowMillis));
+            }
+        } else {
+            // Never undoes an operator's closure, even of a bay the pipeline closed first
+            if (closedBySensor.remove(spotId)) {
+                spot.reopen(this);
+            }
+            if (ticketedVehicle != null) {
+                report(new SensorMismatch(spot, SensorMismatchType.TICKETED_SPOT_EMPTY, ticketedVehicle, nowMillis));
+            }
+        }
+    }
+
+    private void report(SensorMismatch mismatch) {
+        mismatches.incrementAndGet();
+        if (listener != null) {
+            listener.onMismatch(mismatch);
+        }
+    }
+
+    // Misses are resolved from the spot ID's floor and position rather than by scanning the lot
+    private ParkingSpot findSpot(int spotId) {
+        ParkingSpot spot = spotsById.get(spotId);
+        if (spot == null) {
+            spot = parkingLot.findSpot(spotId);
+            if (spot != null) {
+                spotsById.put(spotId, spot);
+            }
+        }
+        return spot;
+    }
+
+    private static class SensorState {
+        private final int spotId;
+        private boolean hasReading;
+        private boolean latestOccupied;
+        private long latestSince;
+        private long lastTimestamp;
+        private Boolean confirmedOccupied;
+
+        SensorState(int spotId) {
+            this.spotId = spotId;
+            this.lastTimestamp = Long.MIN_VALUE;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+public class SensorReading {
+    private final int spotId;
+    private final boolean occupied;
+    private final long timestampMillis;
+
+    public SensorReading(int spotId, boolean occupied, long timestampMillis) {
+        this.spotId = spotId;
+        this.occupied = occupied;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    public boolean isOccupied() {
+        return occupied;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
\ No newline at end of file
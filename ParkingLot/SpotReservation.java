@@ -0,0 +1,81 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A spot held for a vehicle that has not arrived yet; claim it at the gate or release it
+public class SpotReservation {
+    private static final int HELD = 0;
+    private static final int CLAIMED = 1;
+    private static final int RELEASED = 2;
+    private static final int EXPIRED = 3;
+
+    private final ParkingLot parkingLot;
+    private final Vehicle vehicle;
+    private final ParkingSpot spot;
+    private final AtomicInteger state;
+    private TimingWheel expiryWheel;
+    private TimerEntry expiry;
+
+    SpotReservation(ParkingLot parkingLot, Vehicle vehicle, ParkingSpot spot) {
+        this.parkingLot = parkingLot;
+        this.vehicle = vehicle;
+        this.spot = spot;
+        this.state = new AtomicInteger(HELD);
+    }
+
+    public Ticket claim() {
+        if (!state.compareAndSet(HELD, CLAIMED)) {
+            String reason = state.get() == EXPIRED ? "expired" : "no longer held";
+            throw new IllegalStateException("Reservation " + reason + " for vehicle: " + vehicle.getVehicleNo());
+        }
+        cancelExpiry();
+        return parkingLot.issueTicket(vehicle, spot);
+    }
+
+    public void release() {
+        if (state.compareAndSet(HELD, RELEASED)) {
+            cancelExpiry();
+            spot.vacate();
+        }
+    }
+
+    public boolean isHeld() {
+        return state.get() == HELD;
+    }
+
+    public boolean isExpired() {
+        return state.get() == EXPIRED;
+    }
+
+    // Gives the spot back at the deadline unless the vehicle claimed it or the holder released it first
+    synchronized void expireAt(TimingWheel wheel, long deadlineMillis) {
+        if (state.get() != HELD) {
+            return;
+        }
+        this.expiryWheel = wheel;
+        this.expiry = wheel.schedule(deadlineMillis, this::expire);
+    }
+
+    private void expire() {
+        if (state.compareAndSet(HELD, EXPIRED)) {
+            spot.vacate();
+        }
+    }
+
+    private synchronized void cancelExpiry() {
+        if (expiry != null) {
+            expiryWheel.cancel(expiry);
+            expiry = null;
+        }
+    }
+
+    public ParkingLot getParkingLot() {
+        return parkingLot;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("parkinglot.SpotSearch")
+@Label("Spot Search")
+@Category("Parking Lot")
+@Description("One ISlotAllocationStrategy.findSpot call")
+@Enabled(false)
+@StackTrace(false)
+public class SpotSearchEvent extends Event {
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Floor")
+    int floorNo;
+
+    @Label("Spot Type")
+    String spotType;
+
+    @Label("Spots Examined")
+    int spotsExamined;
+
+    @Label("Found")
+    boolean found;
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-SpotType queues of vehicles waiting for a vacancy
+public class SpotWaitlist {
+    private final Map<SpotType, TreeSet<WaitlistRequest>> queues;
+    private final AtomicLong sequence;
+
+    public SpotWaitlist() {
+        this.queues = new EnumMap<>(SpotType.class);
+        for (SpotType spotType : SpotType.values()) {
+            queues.put(spotType, new TreeSet<>());
+        }
+        this.sequence = new AtomicLong();
+    }
+
+    public WaitlistRequest enqueue(Vehicle vehicle, int priority) {
+        WaitlistRequest request = new WaitlistRequest(vehicle, priority, sequence.incrementAndGet());
+
+        // A request waits in every pool that could take the vehicle
+        for (SpotType spotType : vehicle.getType().getCompatibleSpotTypes()) {
+            TreeSet<WaitlistRequest> queue = queues.get(spotType);
+            synchronized (queue) {
+                queue.add(request);
+            }
+        }
+
+        // Drop the request from all queues once it is served or cancelled elsewhere
+        request.getFuture().whenComplete((ticket, error) -> remove(request));
+        return request;
+    }
+
+    // Claims the first waiting request the vacated spot can serve, or returns null
+    public WaitlistRequest claimFor(ParkingSpot spot) {
+        TreeSet<WaitlistRequest> queue = queues.get(spot.getSpotType());
+        synchronized (queue) {
+            Iterator<WaitlistRequest> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                WaitlistRequest request = iterator.next();
+                if (request.getFuture().isDone()) {
+                    iterator.remove();
+                    continue;
+                }
+                if (spot.isCompatibleWith(request.getVehicle()) && request.claim()) {
+                    iterator.remove();
+                    return request;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Puts a claimed request back in line when the spot was taken before it could be parked
+    public void requeue(WaitlistRequest request) {
+        request.release();
+        for (SpotType spotType : request.getVehicle().getType().getCompatibleSpotTypes()) {
+            TreeSet<WaitlistRequest> queue = queues.get(spotType);
+            synchronized (queue) {
+                queue.add(request);
+            }
+        }
+    }
+
+    public boolean hasWaiters(SpotType spotType) {
+        TreeSet<WaitlistRequest> queue = queues.get(spotType);
+        synchronized (queue) {
+            return !queue.isEmpty();
+        }
+    }
+
+    public int getWaitingCount(SpotType spotType) {
+        TreeSet<WaitlistRequest> queue = queues.get(spotType);
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private void remove(WaitlistRequest request) {
+        for (SpotType spotType : request.getVehicle().getType().getCompatibleSpotTypes()) {
+            TreeSet<WaitlistRequest> queue = queues.get(spotType);
+            synchronized (queue) {
+                queue.remove(request);
+            }
+        }
+    }
+}
\ No newline at end of file
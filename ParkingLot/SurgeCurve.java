@@ -0,0 +1,60 @@
+// Maps occupancy and arrival rate to a price multiplier.
+// Occupancy follows a piecewise-linear curve; arrivals above or below the reference rate nudge it up or down.
+public class SurgeCurve {
+    private final double[] occupancyPoints;
+    private final double[] multipliers;
+    private final double referenceArrivalsPerHour;
+    private final double arrivalSensitivity;
+    private final double minMultiplier;
+    private final double maxMultiplier;
+
+    public SurgeCurve(double[] occupancyPoints, double[] multipliers, double referenceArrivalsPerHour,
+                      double arrivalSensitivity, double minMultiplier, double maxMultiplier) {
+        if (occupancyPoints.length == 0 || occupancyPoints.length != multipliers.length) {
+            throw new IllegalArgumentException("Need one multiplier per occupancy point");
+        }
+        for (int i = 1; i < occupancyPoints.length; i++) {
+            if (occupancyPoints[i] <= occupancyPoints[i - 1]) {
+                throw new IllegalArgumentException("Occupancy points must be increasing");
+            }
+        }
+        if (minMultiplier <= 0 || maxMultiplier < minMultiplier) {
+            throw new IllegalArgumentException("Invalid multiplier bounds");
+        }
+        this.occupancyPoints = occupancyPoints.clone();
+        this.multipliers = multipliers.clone();
+        this.referenceArrivalsPerHour = referenceArrivalsPerHour;
+        this.arrivalSensitivity = arrivalSensitivity;
+        this.minMultiplier = minMultiplier;
+        this.maxMultiplier = maxMultiplier;
+    }
+
+    // 20% off when mostly empty, list price through the middle, up to 2.5x when nearly full
+    public static SurgeCurve standard(double referenceArrivalsPerHour) {
+        return new SurgeCurve(
+                new double[] {0.0, 0.3, 0.7, 0.85, 0.95, 1.0},
+                new double[] {0.8, 1.0, 1.0, 1.4, 2.0, 2.5},
+                referenceArrivalsPerHour, 0.25, 0.5, 3.0);
+    }
+
+    public double multiplier(double occupancy, double arrivalsPerHour) {
+        double value = interpolate(occupancy);
+        if (referenceArrivalsPerHour > 0) {
+            value *= 1 + arrivalSensitivity * (arrivalsPerHour / referenceArrivalsPerHour - 1);
+        }
+        return Math.max(minMultiplier, Math.min(maxMultiplier, value));
+    }
+
+    private double interpolate(double occupancy) {
+        if (occupancy <= occupancyPoints[0]) {
+            return multipliers[0];
+        }
+        for (int i = 1; i < occupancyPoints.length; i++) {
+            if (occupancy <= occupancyPoints[i]) {
+                double t = (occupancy - occupancyPoints[i - 1]) / (occupancyPoints[i] - occupancyPoints[i - 1]);
+                return multipliers[i - 1] + t * (multipliers[i] - multipliers[i - 1]);
+            }
+        }
+        return multipliers[multipliers.length - 1];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+// Revenue totals, per-VehicleType breakdown and a per-ticket charge histogram for one strategy
+public class TariffSimulationResult {
+    private static final int TYPES = VehicleType.values().length;
+
+    private final String strategyName;
+    private final double bucketWidth;
+    private final long[] histogram; // Last bucket collects everything above the range
+    private final double[] revenueByType;
+    private final long[] ticketsByType;
+    private double minCharge;
+    private double maxCharge;
+
+    public TariffSimulationResult(String strategyName, double bucketWidth, int bucketCount) {
+        this.strategyName = strategyName;
+        this.bucketWidth = bucketWidth;
+        this.histogram = new long[bucketCount];
+        this.revenueByType = new double[TYPES];
+        this.ticketsByType = new long[TYPES];
+        this.minCharge = Double.POSITIVE_INFINITY;
+        this.maxCharge = Double.NEGATIVE_INFINITY;
+    }
+
+    void record(VehicleType vehicleType, double charge) {
+        revenueByType[vehicleType.ordinal()] += charge;
+        ticketsByType[vehicleType.ordinal()]++;
+        int bucket = (int) Math.min(histogram.length - 1, Math.max(0, (long) (charge / bucketWidth)));
+        histogram[bucket]++;
+        minCharge = Math.min(minCharge, charge);
+        maxCharge = Math.max(maxCharge, charge);
+    }
+
+    void merge(TariffSimulationResult other) {
+        for (int i = 0; i < TYPES; i++) {
+            revenueByType[i] += other.revenueByType[i];
+            ticketsByType[i] += other.ticketsByType[i];
+        }
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        minCharge = Math.min(minCharge, other.minCharge);
+        maxCharge = Math.max(maxCharge, other.maxCharge);
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public double getTotalRevenue() {
+        double total = 0;
+        for (double revenue : revenueByType) {
+            total += revenue;
+        }
+        return total;
+    }
+
+    public long getTicketCount() {
+        long total = 0;
+        for (long tickets : ticketsByType) {
+            total += tickets;
+        }
+        return total;
+    }
+
+    public double getRevenue(VehicleType vehicleType) {
+        return revenueByType[vehicleType.ordinal()];
+    }
+
+    public long getTicketCount(VehicleType vehicleType) {
+        return ticketsByType[vehicleType.ordinal()];
+    }
+
+    public double getAverageCharge() {
+        long tickets = getTicketCount();
+        return tickets == 0 ? 0 : getTotalRevenue() / tickets;
+    }
+
+    public double getMinCharge() {
+        return getTicketCount() == 0 ? 0 : minCharge;
+    }
+
+    public double getMaxCharge() {
+        return getTicketCount() == 0 ? 0 : maxCharge;
+    }
+
+    // Upper edge of the histogram bucket holding the given percentile (0-100)
+    public double getChargePercentile(double percentile) {
+        long tickets = getTicketCount();
+        if (tickets == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * tickets);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i == histogram.length - 1 ? maxCharge : (i + 1) * bucketWidth;
+            }
+        }
+        return maxCharge;
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(strategyName).append(": revenue $").append(String.format("%.2f", getTotalRevenue()))
+                .append(" over ").append(getTicketCount()).append(" tickets")
+                .append(String.format(" (avg $%.2f, p50 $%.2f, p95 $%.2f, max $%.2f)",
+                        getAverageCharge(), getChargePercentile(50), getChargePercentile(95), getMaxCharge()));
+        for (VehicleType vehicleType : VehicleType.values()) {
+            sb.append("\n  ").append(vehicleType).append(": $")
+                    .append(String.format("%.2f", getRevenue(vehicleType)))
+                    .append(" from ").append(getTicketCount(vehicleType)).append(" tickets");
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Replays a ticket history through candidate pricing strategies in parallel to compare revenue
+public class TariffSimulator {
+    private static final int LEAF_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final double bucketWidth;
+    private final int bucketCount;
+    private final Vehicle[][] vehiclePrototypes; // [VehicleType][usingCharging]
+    private final ParkingSpot[][] spotPrototypes; // [SpotType][usingCharging]
+
+    public TariffSimulator(double bucketWidth, int bucketCount) {
+        this(ForkJoinPool.commonPool(), bucketWidth, bucketCount);
+    }
+
+    public TariffSimulator(ForkJoinPool pool, double bucketWidth, int bucketCount) {
+        this.pool = pool;
+        this.bucketWidth = bucketWidth;
+        this.bucketCount = bucketCount;
+
+        // Strategies only read tickets, so one vehicle and spot per shape is shared by every row
+        this.vehiclePrototypes = new Vehicle[VehicleType.values().length][2];
+        for (VehicleType vehicleType : VehicleType.values()) {
+            vehiclePrototypes[vehicleType.ordinal()][0] = createVehicle(vehicleType, false);
+            vehiclePrototypes[vehicleType.ordinal()][1] = createVehicle(vehicleType, true);
+        }
+        this.spotPrototypes = new ParkingSpot[SpotType.values().length][2];
+        for (SpotType spotType : SpotType.values()) {
+            spotPrototypes[spotType.ordinal()][0] = new ParkingSpot(spotType, false);
+            spotPrototypes[spotType.ordinal()][1] = new ParkingSpot(spotType, true);
+        }
+    }
+
+    public List<TariffSimulationResult> simulate(TicketHistory history, Map<String, IPricingStrategy> strategies) {
+        List<String> names = new ArrayList<>(strategies.keySet());
+        IPricingStrategy[] candidates = strategies.values().toArray(new IPricingStrategy[0]);
+
+        TariffSimulationResult[] results = pool.invoke(new SimulationTask(history, names, candidates, 0, history.size()));
+        List<TariffSimulationResult> ordered = new ArrayList<>();
+        for (TariffSimulationResult result : results) {
+            ordered.add(result);
+        }
+        return ordered;
+    }
+
+    private TariffSimulationResult[] emptyResults(List<String> names) {
+        TariffSimulationResult[] results = new TariffSimulationResult[names.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = new TariffSimulationResult(names.get(i), bucketWidth, bucketCount);
+        }
+        return results;
+    }
+
+    private Ticket toTicket(TicketHistory history, int index) {
+        int charging = history.isUsingCharging(index) ? 1 : 0;
+        Vehicle vehicle = vehiclePrototypes[history.getVehicleType(index).ordinal()][charging];
+        ParkingSpot spot = spotPrototypes[history.getSpotType(index).ordinal()][charging];
+        LocalDateTime entryTime = LocalDateTime.ofEpochSecond(history.getEntryEpochSecond(index), 0, ZoneOffset.UTC);
+        return new Ticket(vehicle, spot, charging == 1, entryTime, entryTime.plusSeconds(history.getDurationSeconds(index)));
+    }
+
+    private static Vehicle createVehicle(VehicleType vehicleType, boolean wantsCharging) {
+        switch (vehicleType) {
+            case CAR:
+                return new Car("SIM-CAR");
+            case BIKE:
+                return new Bike("SIM-BIKE");
+            case BUS:
+                return new Bus("SIM-BUS");
+            case ELECTRIC_BIKE:
+                ElectricBike electricBike = new ElectricBike("SIM-EBIKE");
+                electricBike.setWantsCharging(wantsCharging);
+                return electricBike;
+            default:
+                throw new IllegalArgumentException("Unknown vehicle type: " + vehicleType);
+        }
+    }
+
+    private class SimulationTask extends RecursiveTask<TariffSimulationResult[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final TicketHistory history;
+        private final List<String> names;
+        private final IPricingStrategy[] strategies;
+        private final int from;
+        private final int to;
+
+        SimulationTask(TicketHistory history, List<String> names, IPricingStrategy[] strategies, int from, int to) {
+            this.history = history;
+            this.names = names;
+            this.strategies = strategies;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TariffSimulationResult[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                TariffSimulationResult[] results = emptyResults(names);
+                IDurationPricingStrategy[] columnar = new IDurationPricingStrategy[strategies.length];
+                for (int s = 0; s < strategies.length; s++) {
+                    if (strategies[s] instanceof IDurationPricingStrategy) {
+                        columnar[s] = (IDurationPricingStrategy) strategies[s];
+                    }
+                }
+
+                // Every strategy prices a row while it is hot, so the history is streamed once. Duration-based
+                // strategies read the columns directly; a Ticket is built only for the others.
+                for (int i = from; i < to; i++) {
+                    VehicleType vehicleType = history.getVehicleType(i);
+                    Ticket ticket = null;
+                    for (int s = 0; s < strategies.length; s++) {
+                        double price;
+                        if (columnar[s] != null) {
+                            price = columnar[s].calculatePrice(vehicleType, history.getSpotType(i),
+                                    history.getEntryEpochSecond(i), history.getDurationSeconds(i),
+                                    history.isUsingCharging(i));
+                        } else {
+                            if (ticket == null) {
+                                ticket = toTicket(history, i);
+                            }
+                            price = strategies[s].calculatePrice(ticket);
+                        }
+                        results[s].record(vehicleType, price);
+                    }
+                }
+                return results;
+            }
+
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(history, names, strategies, from, mid);
+            left.fork();
+            TariffSimulationResult[] right = new SimulationTask(history, names, strategies, mid, to).compute();
+            TariffSimulationResult[] merged = left.join();
+            for (int s = 0; s < merged.length; s++) {
+                merged[s].merge(right[s]);
+            }
+            return merged;
+        }
+    }
+
+    // Usage: java TariffSimulator [history.csv]; without a file a synthetic year of traffic is used
+    public static void main(String[] args) throws Exception {
+        TicketHistory history = args.length > 0
+                ? TicketHistory.loadCsv(Paths.get(args[0]))
+                : syntheticHistory(5_000_000, new Random(42));
+
+        Map<String, IPricingStrategy> candidates = new LinkedHashMap<>();
+        candidates.put("Hourly $8", new HourlyPricingStrategy(8.0));
+        candidates.put("Hourly $10 (current)", new HourlyPricingStrategy(10.0));
+        candidates.put("Hourly $12", new HourlyPricingStrategy(12.0));
+
+        long start = System.nanoTime();
+        List<TariffSimulationResult> results = new TariffSimulator(5.0, 100).simulate(history, candidates);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("=== Tariff Simulation: " + history.size() + " tickets in " + elapsedMs + " ms ===\n");
+        for (TariffSimulationResult result : results) {
+            System.out.println(result + "\n");
+        }
+    }
+
+    private static TicketHistory syntheticHistory(int tickets, Random random) {
+        TicketHistory history = new TicketHistory(tickets);
+        long yearStart = LocalDateTime.now().minusYears(1).toEpochSecond(ZoneOffset.UTC);
+        VehicleType[] vehicleTypes = VehicleType.values();
+        for (int i = 0; i < tickets; i++) {
+            VehicleType vehicleType = vehicleTypes[random.nextInt(vehicleTypes.length)];
+            SpotType spotType = vehicleType.getCompatibleSpotTypes().iterator().next();
+            boolean charging = vehicleType == VehicleType.ELECTRIC_BIKE && random.nextBoolean();
+            int duration = 600 + random.nextInt(8 * 3600);
+            history.add(vehicleType, charging ? SpotType.ELECTRIC : spotType,
+                    yearStart + random.nextInt(365 * 24 * 3600), duration, charging);
+        }
+        return history;
+    }
+}
\ No newline at end of file
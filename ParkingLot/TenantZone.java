@@ -0,0 +1,108 @@
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Bays contracted to one tenant, plus a quota of spots its vehicles may take from the public pool.
+// Zone spots are never handed to public vehicles and are counted here rather than in their floor's
+// public counters, so public checks and displays never see them. The overflow quota is a single
+// atomic counter.
+public class TenantZone {
+    private final String tenantId;
+    private final int overflowQuota;
+    private final List<ParkingSpot> spots;
+    private final AtomicInteger overflowInUse;
+    private final AtomicIntegerArray freeCounts; // Indexed by SpotType ordinal
+    private final AtomicIntegerArray spotCounts;
+
+    public TenantZone(String tenantId, int overflowQuota) {
+        if (overflowQuota < 0) {
+            throw new IllegalArgumentException("Overflow quota cannot be negative");
+        }
+        this.tenantId = tenantId;
+        this.overflowQuota = overflowQuota;
+        this.spots = new CopyOnWriteArrayList<>();
+        this.overflowInUse = new AtomicInteger();
+        this.freeCounts = new AtomicIntegerArray(SpotType.values().length);
+        this.spotCounts = new AtomicIntegerArray(SpotType.values().length);
+    }
+
+    public void addSpot(ParkingSpot spot) {
+        if (!spot.assignZone(this)) {
+            throw new IllegalStateException("Spot " + spot.getSpotId() + " already belongs to another tenant");
+        }
+        spots.add(spot);
+    }
+
+    public void addFloor(ParkingFloor floor) {
+        for (ParkingSpot spot : floor.getSpots()) {
+            addSpot(spot);
+        }
+    }
+
+    public List<ParkingSpot> getSpots() {
+        return Collections.unmodifiableList(spots);
+    }
+
+    public int getFreeCount(SpotType spotType) {
+        return freeCounts.get(spotType.ordinal());
+    }
+
+    public int getSpotCount(SpotType spotType) {
+        return spotCounts.get(spotType.ordinal());
+    }
+
+    // Lets tenant entry skip the zone search when every compatible bay is taken
+    public boolean hasFreeSpotFor(Vehicle vehicle) {
+        for (SpotType spotType : vehicle.getType().getCompatibleSpotTypes()) {
+            if (getFreeCount(spotType) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Claims one overflow slot unless the tenant is already at its quota
+    public boolean tryAcquireOverflow() {
+        while (true) {
+            int inUse = overflowInUse.get();
+            if (inUse >= overflowQuota) {
+                return false;
+            }
+            if (overflowInUse.compareAndSet(inUse, inUse + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void releaseOverflow() {
+        overflowInUse.decrementAndGet();
+    }
+
+    public int getOverflowInUse() {
+        return overflowInUse.get();
+    }
+
+    public int getOverflowQuota() {
+        return overflowQuota;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    // Driven by ParkingSpot with the spot lock held, like the floor counters
+    void adjustFreeCount(SpotType spotType, int delta) {
+        freeCounts.addAndGet(spotType.ordinal(), delta);
+    }
+
+    void adjustSpotCount(SpotType spotType, int delta) {
+        spotCounts.addAndGet(spotType.ordinal(), delta);
+    }
+
+    void transferFreeCount(SpotType from, SpotType to) {
+        freeCounts.decrementAndGet(from.ordinal());
+        freeCounts.incrementAndGet(to.ordinal());
+    }
+}
\ No newline at end of file
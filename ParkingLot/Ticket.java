@@ -1,16 +1,29 @@
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Ticket {
     private final Vehicle vehicle;
     private final ParkingSpot spot;
     private final LocalDateTime entryTime;
     private final boolean isUsingCharging;
+    private volatile LocalDateTime exitTime;
+    private volatile Double lockedHourlyRate; // Null unless the lot quoted a rate at entry
+    private volatile TenantZone overflowZone; // Tenant whose overflow quota this ticket uses
+    private final AtomicBoolean closed; // Set by the exit that vacated the spot
 
     public Ticket(Vehicle vehicle, ParkingSpot spot, boolean isUsingCharging) {
+        this(vehicle, spot, isUsingCharging, LocalDateTime.now(), null);
+    }
+
+    // For replaying historical tickets whose entry and exit times are already known
+    public Ticket(Vehicle vehicle, ParkingSpot spot, boolean isUsingCharging,
+                  LocalDateTime entryTime, LocalDateTime exitTime) {
         this.vehicle = vehicle;
         this.spot = spot;
-        this.entryTime = LocalDateTime.now();
+        this.entryTime = entryTime;
         this.isUsingCharging = isUsingCharging;
+        this.exitTime = exitTime;
+        this.closed = new AtomicBoolean();
     }
 
     public Vehicle getVehicle() {
@@ -25,6 +38,40 @@ public class Ticket {
         return entryTime;
     }
 
+    // Null while the vehicle is still parked
+    public LocalDateTime getExitTime() {
+        return exitTime;
+    }
+
+    public void markExit(LocalDateTime exitTime) {
+        this.exitTime = exitTime;
+    }
+
+    // True only for the first caller, so a repeated or retried exit releases the spot and quota once
+    boolean tryClose() {
+        return closed.compareAndSet(false, true);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public Double getLockedHourlyRate() {
+        return lockedHourlyRate;
+    }
+
+    void lockHourlyRate(double hourlyRate) {
+        this.lockedHourlyRate = hourlyRate;
+    }
+
+    public TenantZone getOverflowZone() {
+        return overflowZone;
+    }
+
+    void setOverflowZone(TenantZone overflowZone) {
+        this.overflowZone = overflowZone;
+    }
+
     public boolean isUsingCharging() {
         return isUsingCharging;
     }
@@ -0,0 +1,97 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Compact column store of closed tickets, sized for hundreds of millions of rows
+public class TicketHistory {
+    // values() clones its array on every call; rows are decoded in the simulator's hot loop
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+    private byte[] vehicleTypes;
+    private byte[] spotTypes;
+    private long[] entryEpochSeconds;
+    private int[] durationSeconds;
+    private boolean[] usingCharging;
+    private int size;
+
+    public TicketHistory() {
+        this(1024);
+    }
+
+    public TicketHistory(int initialCapacity) {
+        this.vehicleTypes = new byte[initialCapacity];
+        this.spotTypes = new byte[initialCapacity];
+        this.entryEpochSeconds = new long[initialCapacity];
+        this.durationSeconds = new int[initialCapacity];
+        this.usingCharging = new boolean[initialCapacity];
+    }
+
+    public void add(VehicleType vehicleType, SpotType spotType, long entryEpochSecond,
+                    int durationSecond, boolean charging) {
+        if (size == vehicleTypes.length) {
+            grow();
+        }
+        vehicleTypes[size] = (byte) vehicleType.ordinal();
+        spotTypes[size] = (byte) spotType.ordinal();
+        entryEpochSeconds[size] = entryEpochSecond;
+        durationSeconds[size] = durationSecond;
+        usingCharging[size] = charging;
+        size++;
+    }
+
+    // One ticket per line: vehicleType,spotType,entryEpochSecond,durationSeconds,usingCharging
+    public static TicketHistory loadCsv(Path path) throws IOException {
+        TicketHistory history = new TicketHistory();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                history.add(VehicleType.valueOf(fields[0].trim()),
+                        SpotType.valueOf(fields[1].trim()),
+                        Long.parseLong(fields[2].trim()),
+                        Integer.parseInt(fields[3].trim()),
+                        Boolean.parseBoolean(fields[4].trim()));
+            }
+        }
+        return history;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public VehicleType getVehicleType(int index) {
+        return VEHICLE_TYPES[vehicleTypes[index]];
+    }
+
+    public SpotType getSpotType(int index) {
+        return SPOT_TYPES[spotTypes[index]];
+    }
+
+    public long getEntryEpochSecond(int index) {
+        return entryEpochSeconds[index];
+    }
+
+    public int getDurationSeconds(int index) {
+        return durationSeconds[index];
+    }
+
+    public boolean isUsingCharging(int index) {
+        return usingCharging[index];
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, vehicleTypes.length + (vehicleTypes.length >> 1));
+        vehicleTypes = Arrays.copyOf(vehicleTypes, capacity);
+        spotTypes = Arrays.copyOf(spotTypes, capacity);
+        entryEpochSeconds = Arrays.copyOf(entryEpochSeconds, capacity);
+        durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+        usingCharging = Arrays.copyOf(usingCharging, capacity);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+public class TimerEntry {
+    private final long deadlineTick;
+    private final Runnable task;
+    TimerEntry prev;
+    TimerEntry next;
+
+    TimerEntry(long deadlineTick, Runnable task) {
+        this.deadlineTick = deadlineTick;
+        this.task = task;
+    }
+
+    public long getDeadlineTick() {
+        return deadlineTick;
+    }
+
+    Runnable getTask() {
+        return task;
+    }
+
+    boolean isLinked() {
+        return prev != null;
+    }
+
+    void unlink() {
+        prev.next = next;
+        next.prev = prev;
+        prev = null;
+        next = null;
+    }
+}
\ No newline at end of file
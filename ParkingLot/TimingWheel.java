@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: O(1) schedule and cancel, and each tick only touches its own slot
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final TimerEntry[][] wheels; // Sentinel head per slot per level
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new TimerEntry[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                TimerEntry head = new TimerEntry(-1, null);
+                head.prev = head;
+                head.next = head;
+                wheels[level][slot] = head;
+            }
+        }
+    }
+
+    public synchronized TimerEntry schedule(long deadlineMillis, Runnable task) {
+        // Round up so a timer never fires before its deadline
+        long deadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        TimerEntry entry = new TimerEntry(Math.max(deadlineTick, currentTick + 1), task);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    public synchronized boolean cancel(TimerEntry entry) {
+        if (!entry.isLinked()) {
+            return false; // Already fired or cancelled
+        }
+        entry.unlink();
+        size--;
+        return true;
+    }
+
+    // Moves time forward and runs every timer that became due; tasks run on the calling thread
+    public void advanceTo(long nowMillis) {
+        List<TimerEntry> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                drain(wheels[0][(int) (currentTick & SLOT_MASK)], expired);
+            }
+            size -= expired.size();
+        }
+
+        // Entries are already off the wheel, so one failing task must not cost the rest of the batch
+        for (TimerEntry entry : expired) {
+            try {
+                entry.getTask().run();
+            } catch (RuntimeException e) {
+                System.err.println("Timer task failed: " + e);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void place(TimerEntry entry) {
+        long delta = Math.min(entry.getDeadlineTick() - currentTick, MAX_DELTA);
+        long placementTick = currentTick + delta;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+
+        int slot = (int) ((placementTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        TimerEntry head = wheels[level][slot];
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    // When a lower wheel wraps, redistribute the next slot of the wheel above it
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            List<TimerEntry> entries = new ArrayList<>();
+            drain(wheels[level][slot], entries);
+            for (TimerEntry entry : entries) {
+                place(entry); // Due-now entries land in the level 0 slot drained right after
+            }
+        }
+    }
+
+    private void drain(TimerEntry head, List<TimerEntry> into) {
+        TimerEntry entry = head.next;
+        while (entry != head) {
+            TimerEntry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            into.add(entry);
+            entry = next;
+        }
+        head.prev = head;
+        head.next = head;
+    }
+}
\ No newline at end of file
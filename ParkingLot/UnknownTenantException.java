@@ -0,0 +1,8 @@
+// Thrown when a tenant entry names a tenant the lot has no zone for
+public class UnknownTenantException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public UnknownTenantException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,25 @@
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum VehicleType {
-    CAR,
-    BIKE,
-    BUS,
-    ELECTRIC_BIKE
+    CAR(EnumSet.of(SpotType.MEDIUM, SpotType.LARGE)),
+    BIKE(EnumSet.of(SpotType.SMALL, SpotType.ELECTRIC)),
+    BUS(EnumSet.of(SpotType.LARGE)),
+    ELECTRIC_BIKE(EnumSet.of(SpotType.SMALL, SpotType.ELECTRIC));
+
+    private final Set<SpotType> compatibleSpotTypes;
+
+    VehicleType(Set<SpotType> compatibleSpotTypes) {
+        this.compatibleSpotTypes = Collections.unmodifiableSet(compatibleSpotTypes);
+    }
+
+    // Shared read-only view; hot paths iterate it on every allocation, so it is not copied
+    public Set<SpotType> getCompatibleSpotTypes() {
+        return compatibleSpotTypes;
+    }
+
+    public boolean fits(SpotType spotType) {
+        return compatibleSpotTypes.contains(spotType);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One thread per task: virtual threads when the runtime has them (Java 21+), otherwise a cached
+// pool of small-stack daemon threads. Looked up reflectively so the code still builds on Java 17.
+final class VirtualThreads {
+    private static final long FALLBACK_STACK_SIZE = 256 * 1024;
+
+    private VirtualThreads() {
+    }
+
+    static ExecutorService newThreadPerTaskExecutor(String fallbackName) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger sequence = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(null, runnable, fallbackName + "-" + sequence.incrementAndGet(), FALLBACK_STACK_SIZE);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    static boolean isAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
\ No newline at end of file
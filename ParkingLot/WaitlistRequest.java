@@ -0,0 +1,52 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class WaitlistRequest implements Comparable<WaitlistRequest> {
+    private final Vehicle vehicle;
+    private final int priority;
+    private final long sequenceNo;
+    private final CompletableFuture<Ticket> future;
+    private final AtomicBoolean claimed;
+
+    public WaitlistRequest(Vehicle vehicle, int priority, long sequenceNo) {
+        this.vehicle = vehicle;
+        this.priority = priority;
+        this.sequenceNo = sequenceNo;
+        this.future = new CompletableFuture<>();
+        this.claimed = new AtomicBoolean(false);
+    }
+
+    // Only one vacating spot may serve a request, even though it waits in several queues
+    public boolean claim() {
+        return !future.isDone() && claimed.compareAndSet(false, true);
+    }
+
+    public void release() {
+        claimed.set(false);
+    }
+
+    public boolean isPending() {
+        return !claimed.get() && !future.isDone();
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public CompletableFuture<Ticket> getFuture() {
+        return future;
+    }
+
+    @Override
+    public int compareTo(WaitlistRequest other) {
+        // Higher priority first, then first come first served
+        if (priority != other.priority) {
+            return Integer.compare(other.priority, priority);
+        }
+        return Long.compare(sequenceNo, other.sequenceNo);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+#!/bin/sh
+# Build check: compiles the lot and runs the stress harness; exits non-zero if either fails.
+# Arguments are passed to the harness (threads rounds opsPerRound seed).
+set -e
+cd "$(dirname "$0")"
+out=$(mktemp -d)
+trap 'rm -rf "$out"' EXIT
+javac -d "$out" *.java
+java -cp "$out" ParkingLotStressHarness "$@"